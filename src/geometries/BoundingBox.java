@@ -0,0 +1,275 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+
+/**
+ * Axis aligned bounding box (AABB) - the smallest box, with faces parallel to
+ * the axes, that contains a geometry. The box is used to reject rays that
+ * can't hit the geometry before running the (expensive) intersection test of
+ * the geometry itself.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class BoundingBox {
+	/**
+	 * The box of the unbounded geometries (e.g. a plane or an infinite tube). Such
+	 * a box is crossed by every ray.
+	 */
+	public static final BoundingBox UNBOUNDED = new BoundingBox( //
+			Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, //
+			Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+	/**
+	 * The empty box - it doesn't contain any point and isn't crossed by any ray.
+	 * It is the neutral element of the {@link #union(BoundingBox)} operation.
+	 */
+	public static final BoundingBox EMPTY = new BoundingBox( //
+			Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, //
+			Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+	/** The minimal x coordinate of the box */
+	private final double minX;
+	/** The minimal y coordinate of the box */
+	private final double minY;
+	/** The minimal z coordinate of the box */
+	private final double minZ;
+	/** The maximal x coordinate of the box */
+	private final double maxX;
+	/** The maximal y coordinate of the box */
+	private final double maxY;
+	/** The maximal z coordinate of the box */
+	private final double maxZ;
+
+	/**
+	 * Constructs a box from its minimal and maximal coordinates
+	 *
+	 * @param minX the minimal x coordinate
+	 * @param minY the minimal y coordinate
+	 * @param minZ the minimal z coordinate
+	 * @param maxX the maximal x coordinate
+	 * @param maxY the maximal y coordinate
+	 * @param maxZ the maximal z coordinate
+	 */
+	public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.maxZ = maxZ;
+	}
+
+	/**
+	 * Constructs the smallest box that contains all the given points
+	 *
+	 * @param points the points to be contained in the box
+	 * @throws IllegalArgumentException if there are no points
+	 */
+	public BoundingBox(Point... points) {
+		if (points.length == 0)
+			throw new IllegalArgumentException("A bounding box must contain at least one point");
+		double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY, z1 = Double.POSITIVE_INFINITY;
+		double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY, z2 = Double.NEGATIVE_INFINITY;
+		for (Point p : points) {
+			x1 = Math.min(x1, p.getX());
+			y1 = Math.min(y1, p.getY());
+			z1 = Math.min(z1, p.getZ());
+			x2 = Math.max(x2, p.getX());
+			y2 = Math.max(y2, p.getY());
+			z2 = Math.max(z2, p.getZ());
+		}
+		minX = x1;
+		minY = y1;
+		minZ = z1;
+		maxX = x2;
+		maxY = y2;
+		maxZ = z2;
+	}
+
+	// getters:
+
+	/**
+	 * Returns the minimal coordinate of the box along an axis
+	 *
+	 * @param axis the axis index (0 - x, 1 - y, 2 - z)
+	 * @return the minimal coordinate along the axis
+	 */
+	public double getMin(int axis) {
+		return switch (axis) {
+		case 0 -> minX;
+		case 1 -> minY;
+		default -> minZ;
+		};
+	}
+
+	/**
+	 * Returns the maximal coordinate of the box along an axis
+	 *
+	 * @param axis the axis index (0 - x, 1 - y, 2 - z)
+	 * @return the maximal coordinate along the axis
+	 */
+	public double getMax(int axis) {
+		return switch (axis) {
+		case 0 -> maxX;
+		case 1 -> maxY;
+		default -> maxZ;
+		};
+	}
+
+	/**
+	 * Checks whether the box is finite (i.e. the geometry is bounded)
+	 *
+	 * @return true if all the coordinates of the box are finite, false otherwise
+	 */
+	public boolean isBounded() {
+		return Double.isFinite(minX) && Double.isFinite(minY) && Double.isFinite(minZ) //
+				&& Double.isFinite(maxX) && Double.isFinite(maxY) && Double.isFinite(maxZ);
+	}
+
+	/**
+	 * Returns the center of the box along an axis
+	 *
+	 * @param axis the axis index (0 - x, 1 - y, 2 - z)
+	 * @return the middle coordinate along the axis
+	 */
+	public double getCenter(int axis) {
+		return (getMin(axis) + getMax(axis)) / 2;
+	}
+
+	/**
+	 * Calculates the surface area of the box. The probability of a random ray
+	 * that crosses a box to cross also an inner box is proportional to the ratio
+	 * of their surface areas.
+	 *
+	 * @return the surface area of the box (0 for the empty box)
+	 */
+	public double surfaceArea() {
+		if (minX > maxX)
+			return 0;
+		double dx = maxX - minX;
+		double dy = maxY - minY;
+		double dz = maxZ - minZ;
+		return 2 * (dx * dy + dy * dz + dz * dx);
+	}
+
+	/**
+	 * Creates the smallest box that contains both this box and another one
+	 *
+	 * @param other the other box
+	 * @return the united box
+	 */
+	public BoundingBox union(BoundingBox other) {
+		return new BoundingBox( //
+				Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ), //
+				Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+	}
+
+	/**
+	 * Checks whether a ray crosses the box before the given maximum distance
+	 *
+	 * @param ray         the ray to check
+	 * @param maxDistance the maximum distance along the ray
+	 * @return true if the ray crosses the box, false otherwise
+	 */
+	public boolean intersects(Ray ray, double maxDistance) {
+		return intersects(ray.getHeadX(), ray.getHeadY(), ray.getHeadZ(), //
+				ray.getInverseX(), ray.getInverseY(), ray.getInverseZ(), maxDistance);
+	}
+
+	/**
+	 * Checks whether a ray crosses the box before the given maximum distance (slab
+	 * test). The ray is given by its origin and by the reciprocals of its direction
+	 * components, which are calculated once per ray by the caller, so the test
+	 * itself needs only multiplications.<br>
+	 * A zero direction component gives an infinite reciprocal: then the slab of
+	 * that axis is crossed either everywhere or nowhere, according to the origin.
+	 *
+	 * @param x           the x coordinate of the ray origin
+	 * @param y           the y coordinate of the ray origin
+	 * @param z           the z coordinate of the ray origin
+	 * @param invX        1 / the x component of the ray direction
+	 * @param invY        1 / the y component of the ray direction
+	 * @param invZ        1 / the z component of the ray direction
+	 * @param maxDistance the maximum distance along the ray
+	 * @return true if the ray crosses the box, false otherwise
+	 */
+	public boolean intersects(double x, double y, double z, double invX, double invY, double invZ,
+			double maxDistance) {
+		// the empty box (the only box with min > max) isn't crossed at all
+		return minX <= maxX && intersects(minX, minY, minZ, maxX, maxY, maxZ, //
+				x, y, z, invX, invY, invZ, maxDistance);
+	}
+
+	/**
+	 * The slab test of {@link #intersects(double, double, double, double, double,
+	 * double, double)} over a box that is given by its coordinates. It allows the
+	 * acceleration structures to keep their boxes in primitive arrays.
+	 *
+	 * @param minX        the minimal x coordinate of the box
+	 * @param minY        the minimal y coordinate of the box
+	 * @param minZ        the minimal z coordinate of the box
+	 * @param maxX        the maximal x coordinate of the box
+	 * @param maxY        the maximal y coordinate of the box
+	 * @param maxZ        the maximal z coordinate of the box
+	 * @param x           the x coordinate of the ray origin
+	 * @param y           the y coordinate of the ray origin
+	 * @param z           the z coordinate of the ray origin
+	 * @param invX        1 / the x component of the ray direction
+	 * @param invY        1 / the y component of the ray direction
+	 * @param invZ        1 / the z component of the ray direction
+	 * @param maxDistance the maximum distance along the ray
+	 * @return true if the ray crosses the box, false otherwise
+	 */
+	static boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, //
+			double x, double y, double z, double invX, double invY, double invZ, double maxDistance) {
+		double tNear = 0;
+		double tFar = maxDistance;
+
+		// NaN (ray parallel to a slab, with origin exactly on its face) fails all the
+		// comparisons, so it doesn't narrow the range
+		double t1 = (minX - x) * invX;
+		double t2 = (maxX - x) * invX;
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tNear)
+			tNear = t1;
+		if (t2 < tFar)
+			tFar = t2;
+
+		t1 = (minY - y) * invY;
+		t2 = (maxY - y) * invY;
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tNear)
+			tNear = t1;
+		if (t2 < tFar)
+			tFar = t2;
+		if (tNear > tFar)
+			return false;
+
+		t1 = (minZ - z) * invZ;
+		t2 = (maxZ - z) * invZ;
+		if (t1 > t2) {
+			double tmp = t1;
+			t1 = t2;
+			t2 = tmp;
+		}
+		if (t1 > tNear)
+			tNear = t1;
+		if (t2 < tFar)
+			tFar = t2;
+		return tNear <= tFar;
+	}
+
+	@Override
+	public String toString() {
+		return "box[(" + minX + "," + minY + "," + minZ + ")-(" + maxX + "," + maxY + "," + maxZ + ")]";
+	}
+}
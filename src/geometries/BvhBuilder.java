@@ -0,0 +1,292 @@
+package geometries;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Abstract builder of a bounding volume hierarchy for {@link BvhGeometries}.
+ * The builders differ in the way they split the bodies between the sub-trees,
+ * while the parameters of the hierarchy and the estimation of its quality are
+ * common.<br>
+ * A build may run on a {@link ForkJoinPool}: the sub-trees of big ranges of
+ * bodies are built as separate tasks, and the passes over the bodies of big
+ * ranges are split into chunks that are processed in parallel.
+ *
+ * @author Lior &amp; Asaf
+ */
+public abstract class BvhBuilder implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The maximal amount of bodies in a leaf */
+	protected int maxLeafSize = 4;
+
+	/** The cost of visiting an inner node (relative to the intersection cost) */
+	protected double traversalCost = 1;
+
+	/** The cost of intersecting a ray with a single body */
+	protected double intersectionCost = 1;
+
+	/**
+	 * The minimal amount of bodies in a range that is processed in parallel (both
+	 * for building its sub-trees and for passing over its bodies)
+	 */
+	protected int parallelThreshold = 4096;
+
+	/**
+	 * A calculation over a range of bodies (for parallel passes over the bodies)
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	interface RangeFunction<T> {
+		/**
+		 * Calculates the result of a range of bodies
+		 *
+		 * @param from the first body of the range (inclusive)
+		 * @param to   the last body of the range (exclusive)
+		 * @return the result of the range
+		 */
+		T apply(int from, int to);
+	}
+
+	/**
+	 * Merge of the results of two adjacent ranges of bodies
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	interface RangeMerge<T> {
+		/**
+		 * Merges the results of two adjacent ranges
+		 *
+		 * @param left  the result of the lower range
+		 * @param right the result of the upper range
+		 * @return the result of the united range
+		 */
+		T merge(T left, T right);
+	}
+
+	// setters:
+
+	/**
+	 * Sets the maximal amount of bodies in a leaf of the hierarchy
+	 *
+	 * @param maxLeafSize the maximal amount of bodies in a leaf
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if the size is not positive
+	 */
+	public BvhBuilder setMaxLeafSize(int maxLeafSize) {
+		if (maxLeafSize < 1)
+			throw new IllegalArgumentException("A leaf must be able to hold at least one body");
+		this.maxLeafSize = maxLeafSize;
+		return this;
+	}
+
+	/**
+	 * Sets the cost of visiting an inner node of the hierarchy
+	 *
+	 * @param traversalCost the traversal cost
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if the cost is negative
+	 */
+	public BvhBuilder setTraversalCost(double traversalCost) {
+		if (traversalCost < 0)
+			throw new IllegalArgumentException("The traversal cost can't be negative");
+		this.traversalCost = traversalCost;
+		return this;
+	}
+
+	/**
+	 * Sets the cost of intersecting a ray with a single body
+	 *
+	 * @param intersectionCost the intersection cost
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if the cost is not positive
+	 */
+	public BvhBuilder setIntersectionCost(double intersectionCost) {
+		if (intersectionCost <= 0)
+			throw new IllegalArgumentException("The intersection cost must be positive");
+		this.intersectionCost = intersectionCost;
+		return this;
+	}
+
+	/**
+	 * Sets the minimal amount of bodies in a range that is processed in parallel
+	 *
+	 * @param parallelThreshold the minimal amount of bodies for parallel work
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if the threshold is not positive
+	 */
+	public BvhBuilder setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 1)
+			throw new IllegalArgumentException("The parallel threshold must be positive");
+		this.parallelThreshold = parallelThreshold;
+		return this;
+	}
+
+	/**
+	 * Builds a hierarchy over bounded bodies. The builder may reorder the arrays.
+	 *
+	 * @param bodies      the bodies of the hierarchy (at least one)
+	 * @param boxes       the bounding boxes of the bodies (in the same order)
+	 * @param parallelism the amount of threads for the build (1 or less - the
+	 *                    build runs in the calling thread)
+	 * @return the root of the hierarchy
+	 */
+	final BvhNode build(Intersectable[] bodies, BoundingBox[] boxes, int parallelism) {
+		if (parallelism <= 1 || bodies.length < parallelThreshold)
+			return build(bodies, boxes);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(ForkJoinTask.adapt(() -> build(bodies, boxes)));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Builds a hierarchy over bounded bodies. The builder may reorder the arrays.
+	 * When it is called inside a {@link ForkJoinPool}, the builder may use
+	 * {@link #buildInParallel} and {@link #reduce} to spread the work.
+	 *
+	 * @param bodies the bodies of the hierarchy (at least one)
+	 * @param boxes  the bounding boxes of the bodies (in the same order)
+	 * @return the root of the hierarchy
+	 */
+	abstract BvhNode build(Intersectable[] bodies, BoundingBox[] boxes);
+
+	/**
+	 * Checks whether a range of bodies is worth to be processed in parallel
+	 *
+	 * @param count the amount of bodies in the range
+	 * @return true if the range is big enough and the build runs in a pool
+	 */
+	boolean isParallel(int count) {
+		return count >= parallelThreshold && ForkJoinTask.inForkJoinPool();
+	}
+
+	/**
+	 * Creates an inner node after building its two sub-trees. The left sub-tree
+	 * is built as a separate task if the range is big enough.
+	 *
+	 * @param box   the bounding box of the node (null - the union of the boxes of
+	 *              the sub-trees)
+	 * @param count the amount of bodies of the node
+	 * @param left  the builder of the left sub-tree
+	 * @param right the builder of the right sub-tree
+	 * @return the inner node
+	 */
+	BvhNode buildInParallel(BoundingBox box, int count, Callable<BvhNode> left, Callable<BvhNode> right) {
+		try {
+			BvhNode leftNode;
+			BvhNode rightNode;
+			if (isParallel(count)) {
+				ForkJoinTask<BvhNode> leftTask = ForkJoinTask.adapt(left).fork();
+				rightNode = right.call();
+				leftNode = leftTask.join();
+			} else {
+				leftNode = left.call();
+				rightNode = right.call();
+			}
+			return new BvhNode(box != null ? box : leftNode.box.union(rightNode.box), leftNode, rightNode);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to build the hierarchy", e);
+		}
+	}
+
+	/**
+	 * Calculates a result over a range of bodies. A big range is split into
+	 * chunks of {@link #parallelThreshold} bodies that are calculated in parallel.
+	 *
+	 * @param <T>      the type of the result
+	 * @param from     the first body of the range (inclusive)
+	 * @param to       the last body of the range (exclusive)
+	 * @param function the calculation of a chunk
+	 * @param merge    the merge of the results of adjacent chunks
+	 * @return the result of the whole range
+	 */
+	<T> T reduce(int from, int to, RangeFunction<T> function, RangeMerge<T> merge) {
+		if (!isParallel(to - from))
+			return function.apply(from, to);
+		int middle = (from + to) >>> 1;
+		ForkJoinTask<T> leftTask = ForkJoinTask.adapt(() -> reduce(from, middle, function, merge)).fork();
+		T right = reduce(middle, to, function, merge);
+		return merge.merge(leftTask.join(), right);
+	}
+
+	/**
+	 * Calculates the quality statistics of a hierarchy
+	 *
+	 * @param root the root of the hierarchy
+	 * @return the statistics of the hierarchy (without the build time)
+	 */
+	BvhStatistics getStatistics(BvhNode root) {
+		if (root == BvhNode.EMPTY)
+			return BvhStatistics.EMPTY;
+		double rootArea = root.box.surfaceArea();
+		// [nodes, leaves, depth] are collected in the array, the cost is returned
+		int[] counters = new int[3];
+		double cost = collectStatistics(root, 1, rootArea > 0 ? 1 / rootArea : 0, counters);
+		return new BvhStatistics(counters[0], counters[1], counters[2], cost, 0);
+	}
+
+	/**
+	 * Collects recursively the statistics of a sub-tree
+	 *
+	 * @param node        the root of the sub-tree
+	 * @param depth       the depth of the node
+	 * @param inverseArea 1 / the surface area of the hierarchy root
+	 * @param counters    the nodes, leaves and maximal depth counters
+	 * @return the expected cost of the sub-tree
+	 */
+	private double collectStatistics(BvhNode node, int depth, double inverseArea, int[] counters) {
+		++counters[0];
+		counters[2] = Math.max(counters[2], depth);
+		// a degenerated root box (e.g. a single flat body) is crossed by every ray
+		double probability = inverseArea == 0 ? 1 : node.box.surfaceArea() * inverseArea;
+		if (node.isLeaf()) {
+			++counters[1];
+			return probability * node.bodies.length * intersectionCost;
+		}
+		return probability * traversalCost //
+				+ collectStatistics(node.left, depth + 1, inverseArea, counters) //
+				+ collectStatistics(node.right, depth + 1, inverseArea, counters);
+	}
+
+	/**
+	 * Calculates the union of the boxes in a range
+	 *
+	 * @param boxes the boxes
+	 * @param from  the first box of the range (inclusive)
+	 * @param to    the last box of the range (exclusive)
+	 * @return the box that contains all the boxes of the range
+	 */
+	static BoundingBox union(BoundingBox[] boxes, int from, int to) {
+		BoundingBox box = boxes[from];
+		for (int i = from + 1; i < to; ++i)
+			box = box.union(boxes[i]);
+		return box;
+	}
+
+	/**
+	 * Swaps two bodies (and their boxes) in the arrays
+	 *
+	 * @param bodies the bodies
+	 * @param boxes  the boxes of the bodies
+	 * @param i      the index of the first body
+	 * @param j      the index of the second body
+	 */
+	static void swap(Intersectable[] bodies, BoundingBox[] boxes, int i, int j) {
+		Intersectable body = bodies[i];
+		bodies[i] = bodies[j];
+		bodies[j] = body;
+		BoundingBox box = boxes[i];
+		boxes[i] = boxes[j];
+		boxes[j] = box;
+	}
+}
@@ -0,0 +1,294 @@
+package geometries;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import primitives.Double3;
+import primitives.Ray;
+
+/**
+ * A collection of geometric objects that is organized in a bounding volume
+ * hierarchy (BVH). The bodies are grouped recursively into a binary tree of
+ * bounding boxes, so a ray is tested only against the bodies whose boxes it
+ * crosses, and the intersection cost grows logarithmically with the scene
+ * size.<br>
+ * The hierarchy is built by a {@link BvhBuilder} (surface area heuristic by
+ * default) lazily on the first intersection after the collection was changed.
+ * Unbounded bodies (e.g. a {@link Plane}) are kept outside the tree and are
+ * always tested.<br>
+ * When bodies move between frames, they may be {@link #replace replaced} in
+ * place: the tree keeps its structure and only its boxes are refitted, until
+ * the refitted tree becomes too expensive compared to the built one.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class BvhGeometries extends Geometries {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The builder of the hierarchy */
+	private BvhBuilder builder = new SahBvhBuilder();
+
+	/** The compiled hierarchy (null until the hierarchy is built) */
+	private transient volatile FlatBvh bvh = null;
+
+	/** The quality statistics of the built hierarchy */
+	private transient BvhStatistics statistics = BvhStatistics.EMPTY;
+
+	/** The unbounded bodies - they are tested against every ray */
+	private transient List<Intersectable> unbounded = List.of();
+
+	/** Whether bodies were replaced and the boxes of the hierarchy are outdated */
+	private volatile boolean outdated = false;
+
+	/** The expected cost of the hierarchy right after it was built */
+	private double builtCost = 0;
+
+	/**
+	 * The ratio between the expected cost of a refitted hierarchy and its built
+	 * cost that causes a full rebuild
+	 */
+	private double rebuildThreshold = 1.5;
+
+	/**
+	 * default constructor for BvhGeometries class
+	 */
+	public BvhGeometries() {
+	}
+
+	/**
+	 * parametric constructor to add all the geometries bodies to the hierarchy
+	 *
+	 * @param geometries an array of Intersectable objects to be added to the
+	 *                   hierarchy.
+	 */
+	public BvhGeometries(Intersectable... geometries) {
+		super(geometries);
+	}
+
+	@Override
+	public void add(Intersectable... geometries) {
+		super.add(geometries);
+		// the hierarchy will be rebuilt on the next intersection
+		bvh = null;
+	}
+
+	/**
+	 * Sets the builder of the hierarchy (the default builder is a
+	 * {@link SahBvhBuilder} with its default parameters)
+	 *
+	 * @param builder the hierarchy builder
+	 * @return the collection itself (for method chaining)
+	 */
+	public BvhGeometries setBuilder(BvhBuilder builder) {
+		this.builder = builder;
+		bvh = null;
+		return this;
+	}
+
+	/**
+	 * Sets the degradation of a refitted hierarchy that causes a full rebuild
+	 * (see {@link #getDegradation()})
+	 *
+	 * @param rebuildThreshold the maximal ratio between the refitted cost and the
+	 *                         built cost
+	 * @return the collection itself (for method chaining)
+	 * @throws IllegalArgumentException if the threshold is less than 1
+	 */
+	public BvhGeometries setRebuildThreshold(double rebuildThreshold) {
+		if (rebuildThreshold < 1)
+			throw new IllegalArgumentException("The rebuild threshold can't be less than 1");
+		this.rebuildThreshold = rebuildThreshold;
+		return this;
+	}
+
+	/**
+	 * Returns the quality degradation of the hierarchy since it was built - the
+	 * ratio between its current expected cost and its expected cost right after
+	 * the build. The hierarchy is built or refitted if needed.
+	 *
+	 * @return the degradation (1 for a hierarchy that wasn't refitted)
+	 */
+	public double getDegradation() {
+		getBvh();
+		return builtCost > 0 ? statistics.expectedCost() / builtCost : 1;
+	}
+
+	/**
+	 * Returns the quality statistics of the hierarchy. The hierarchy is built if
+	 * it wasn't built yet.
+	 *
+	 * @return the hierarchy statistics
+	 */
+	public BvhStatistics getStatistics() {
+		getBvh();
+		return statistics;
+	}
+
+	/**
+	 * Builds the hierarchy over the current bodies of the collection. There is no
+	 * need to call it explicitly - it is called (single threaded) on the first
+	 * intersection after a change, but it may be used to build the hierarchy
+	 * before the rendering.
+	 *
+	 * @return the collection itself (for method chaining)
+	 */
+	public BvhGeometries build() {
+		return build(1);
+	}
+
+	/**
+	 * Builds the hierarchy over the current bodies of the collection, using
+	 * several threads for big scenes
+	 *
+	 * @param parallelism the amount of threads for the build
+	 * @return the collection itself (for method chaining)
+	 */
+	public synchronized BvhGeometries build(int parallelism) {
+		long start = System.nanoTime();
+		super.prepare(parallelism);
+		List<Intersectable> outside = new LinkedList<>();
+		List<Intersectable> bounded = new LinkedList<>();
+		for (Intersectable geo : geometries)
+			(geo.getBoundingBox().isBounded() ? bounded : outside).add(geo);
+
+		unbounded = outside;
+		Intersectable[] bodies = bounded.toArray(new Intersectable[bounded.size()]);
+		BoundingBox[] boxes = new BoundingBox[bodies.length];
+		for (int i = 0; i < bodies.length; ++i)
+			boxes[i] = bodies[i].getBoundingBox();
+		outdated = false;
+		if (bodies.length == 0) {
+			statistics = BvhStatistics.EMPTY;
+			builtCost = 0;
+			bvh = FlatBvh.EMPTY;
+			return this;
+		}
+		BvhNode root = builder.build(bodies, boxes, parallelism);
+		BvhStatistics treeStatistics = builder.getStatistics(root);
+		// the tree of nodes is needed only to compile the hierarchy
+		FlatBvh flat = new FlatBvh(root, treeStatistics.nodeCount(), bodies.length, treeStatistics.depth());
+		statistics = treeStatistics.withBuildTime(System.nanoTime() - start);
+		builtCost = statistics.expectedCost();
+		bvh = flat;
+		return this;
+	}
+
+	@Override
+	public void replace(Intersectable old, Intersectable updated) {
+		super.replace(old, updated);
+		FlatBvh flat = bvh;
+		if (flat == null)
+			return;
+		// a body that leaves or joins the unbounded ones changes the tree bodies
+		if (updated.getBoundingBox().isBounded() && flat.replace(old, updated))
+			outdated = true;
+		else
+			bvh = null;
+	}
+
+	/**
+	 * Refits the hierarchy after bodies were replaced (or nested collections were
+	 * changed): the boxes of the nodes are recalculated bottom-up, while the tree
+	 * structure is kept. If the expected cost of the refitted tree exceeds the
+	 * built cost by more than the {@link #setRebuildThreshold rebuild threshold},
+	 * the hierarchy is rebuilt.<br>
+	 * There is no need to call it after {@link #replace} - it is called on the
+	 * next intersection - but nested collections aren't tracked. It mustn't run
+	 * while rays are traced through the collection.
+	 */
+	@Override
+	public synchronized void refit() {
+		super.refit();
+		FlatBvh flat = bvh;
+		if (flat == null) {
+			build();
+			return;
+		}
+		flat.refit();
+		double cost = flat.expectedCost(builder.traversalCost, builder.intersectionCost);
+		outdated = false;
+		if (cost > builtCost * rebuildThreshold) {
+			build();
+			return;
+		}
+		statistics = new BvhStatistics(statistics.nodeCount(), statistics.leafCount(), statistics.depth(), cost,
+				statistics.buildTime());
+	}
+
+	/**
+	 * Builds the hierarchy, unless it is already built for the current bodies, or
+	 * refits it if bodies were replaced
+	 */
+	@Override
+	public void prepare(int parallelism) {
+		if (bvh != null && !outdated)
+			return;
+		synchronized (this) {
+			if (bvh == null)
+				build(parallelism);
+			else if (outdated)
+				refit();
+		}
+	}
+
+	/**
+	 * Returns the compiled hierarchy, and builds (or refits) the hierarchy if it
+	 * isn't up to date
+	 *
+	 * @return the compiled hierarchy
+	 */
+	private FlatBvh getBvh() {
+		FlatBvh flat = bvh;
+		if (flat != null && !outdated)
+			return flat;
+		synchronized (this) {
+			prepare(1);
+			return bvh;
+		}
+	}
+
+	@Override
+	public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+		FlatBvh flat = getBvh();
+		List<GeoPoint> intersectionList = null;
+		for (Intersectable geo : unbounded) {
+			var intersections = geo.findGeoIntersections(ray, maxDistance);
+			if (intersections != null) {
+				if (intersectionList == null)
+					intersectionList = new LinkedList<>(intersections);
+				else
+					intersectionList.addAll(intersections);
+			}
+		}
+		return flat.findIntersections(ray, maxDistance, intersectionList);
+	}
+
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		FlatBvh flat = getBvh();
+		// the unbounded bodies are tested first, to shorten the distance for the tree
+		GeoPoint closest = null;
+		for (Intersectable geo : unbounded) {
+			GeoPoint intersection = geo.findClosestGeoIntersection(ray, maxDistance);
+			if (intersection != null) {
+				closest = intersection;
+				maxDistance = intersection.distance(ray.getHead());
+			}
+		}
+		GeoPoint treeClosest = flat.findClosestIntersection(ray, maxDistance);
+		return treeClosest == null ? closest : treeClosest;
+	}
+
+	@Override
+	protected Double3 findTransmittanceHelper(Ray ray, double maxDistance, Double3 transmittance,
+			double minTransmittance) {
+		FlatBvh flat = getBvh();
+		for (Intersectable geo : unbounded) {
+			transmittance = geo.findTransmittanceHelper(ray, maxDistance, transmittance, minTransmittance);
+			if (transmittance.lowerThan(minTransmittance))
+				return Double3.ZERO;
+		}
+		return flat.findTransmittance(ray, maxDistance, transmittance, minTransmittance);
+	}
+}
@@ -0,0 +1,59 @@
+package geometries;
+
+/**
+ * A node of a bounding volume hierarchy - either an inner node with two
+ * sub-trees or a leaf with a few bodies
+ *
+ * @see BvhGeometries
+ * @see BvhBuilder
+ * @author Lior &amp; Asaf
+ */
+final class BvhNode {
+	/** Placeholder for a built hierarchy without bounded bodies */
+	static final BvhNode EMPTY = new BvhNode(BoundingBox.EMPTY, new Intersectable[0]);
+
+	/** The bounding box of all the bodies in the sub-tree */
+	final BoundingBox box;
+	/** The left sub-tree (null in a leaf) */
+	final BvhNode left;
+	/** The right sub-tree (null in a leaf) */
+	final BvhNode right;
+	/** The bodies of a leaf (null in an inner node) */
+	final Intersectable[] bodies;
+
+	/**
+	 * Constructs an inner node
+	 *
+	 * @param box   the bounding box of the sub-tree
+	 * @param left  the left sub-tree
+	 * @param right the right sub-tree
+	 */
+	BvhNode(BoundingBox box, BvhNode left, BvhNode right) {
+		this.box = box;
+		this.left = left;
+		this.right = right;
+		this.bodies = null;
+	}
+
+	/**
+	 * Constructs a leaf
+	 *
+	 * @param box    the bounding box of the bodies
+	 * @param bodies the bodies of the leaf
+	 */
+	BvhNode(BoundingBox box, Intersectable[] bodies) {
+		this.box = box;
+		this.left = null;
+		this.right = null;
+		this.bodies = bodies;
+	}
+
+	/**
+	 * Checks whether the node is a leaf
+	 *
+	 * @return true if the node is a leaf, false if it is an inner node
+	 */
+	boolean isLeaf() {
+		return bodies != null;
+	}
+}
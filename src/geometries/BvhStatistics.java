@@ -0,0 +1,33 @@
+package geometries;
+
+/**
+ * Quality statistics of a bounding volume hierarchy, used to tune the
+ * hierarchy builder per scene
+ *
+ * @param nodeCount    the total amount of nodes (inner nodes and leaves)
+ * @param leafCount    the amount of leaves
+ * @param depth        the depth of the deepest leaf (a single leaf tree has
+ *                     depth 1)
+ * @param expectedCost the expected cost of a random ray according to the
+ *                     surface area heuristic (SAH) - the sum of the traversal
+ *                     cost of each inner node and the intersection cost of the
+ *                     bodies of each leaf, weighted by the probability of a ray
+ *                     that crosses the root box to cross the node box
+ * @param buildTime    the time of building and compiling the hierarchy (in
+ *                     nanoseconds)
+ * @author Lior &amp; Asaf
+ */
+public record BvhStatistics(int nodeCount, int leafCount, int depth, double expectedCost, long buildTime) {
+	/** Statistics of an empty hierarchy */
+	public static final BvhStatistics EMPTY = new BvhStatistics(0, 0, 0, 0, 0);
+
+	/**
+	 * Creates a copy of the statistics with the given build time
+	 *
+	 * @param buildTime the time of building the hierarchy (in nanoseconds)
+	 * @return the statistics with the build time
+	 */
+	public BvhStatistics withBuildTime(long buildTime) {
+		return new BvhStatistics(nodeCount, leafCount, depth, expectedCost, buildTime);
+	}
+}
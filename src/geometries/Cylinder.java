@@ -12,6 +12,9 @@ import primitives.Point;
  * @author Lior &amp; Asaf
  */
 public class Cylinder extends Tube {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The height represents the distance between the two bases of the cylinder
 	 * along the central axis.
@@ -68,6 +71,25 @@ public class Cylinder extends Tube {
 		return v.normalize();
 	}
 
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		Point first = axis.getHead();
+		Point second = axis.getPoint(height);
+		Vector dir = axis.getDir();
+		// the bases are discs, so along each axis the box exceeds the centers of the
+		// bases by the radius multiplied by the sine of the angle between the axes
+		double dx = radius * Math.sqrt(Math.max(0, 1 - dir.getX() * dir.getX()));
+		double dy = radius * Math.sqrt(Math.max(0, 1 - dir.getY() * dir.getY()));
+		double dz = radius * Math.sqrt(Math.max(0, 1 - dir.getZ() * dir.getZ()));
+		return new BoundingBox( //
+				Math.min(first.getX(), second.getX()) - dx, //
+				Math.min(first.getY(), second.getY()) - dy, //
+				Math.min(first.getZ(), second.getZ()) - dz, //
+				Math.max(first.getX(), second.getX()) + dx, //
+				Math.max(first.getY(), second.getY()) + dy, //
+				Math.max(first.getZ(), second.getZ()) + dz);
+	}
+
 	@Override
 	public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
 		return null;
@@ -0,0 +1,335 @@
+package geometries;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+
+/**
+ * A compiled bounding volume hierarchy. The nodes of the tree are packed in
+ * depth-first order into primitive arrays: the first child of an inner node
+ * always follows it, and only the index of the second child is stored. The
+ * traversal uses a small explicit stack of node indices instead of recursion,
+ * so visiting a node involves no object at all - only array reads and the
+ * slab test.
+ *
+ * @author Lior &amp; Asaf
+ */
+final class FlatBvh {
+	/** The compiled hierarchy without nodes */
+	static final FlatBvh EMPTY = new FlatBvh(BvhNode.EMPTY, 0, 0, 0);
+
+	/** The boxes of the nodes - 6 coordinates per node (min x,y,z, max x,y,z) */
+	final double[] bounds;
+	/**
+	 * Per node: the index of the second child of an inner node, or the index of
+	 * the first body of a leaf
+	 */
+	final int[] offsets;
+	/**
+	 * Per node: the amount of bodies of a leaf, or -(split axis + 1) of an inner
+	 * node. The first child of an inner node is the one with the lower center
+	 * along the split axis.
+	 */
+	final int[] counts;
+	/** The bodies of all the leaves, leaf after leaf */
+	final Intersectable[] bodies;
+	/** The depth of the deepest leaf - the bound of the traversal stack size */
+	final int depth;
+
+	/**
+	 * Compiles a hierarchy
+	 *
+	 * @param root      the root of the hierarchy
+	 * @param nodeCount the amount of nodes in the hierarchy
+	 * @param bodyCount the amount of bodies in the hierarchy
+	 * @param depth     the depth of the hierarchy
+	 */
+	FlatBvh(BvhNode root, int nodeCount, int bodyCount, int depth) {
+		bounds = new double[6 * nodeCount];
+		offsets = new int[nodeCount];
+		counts = new int[nodeCount];
+		bodies = new Intersectable[bodyCount];
+		this.depth = depth;
+		if (nodeCount > 0)
+			flatten(root, new int[2]);
+	}
+
+	/**
+	 * Packs recursively a sub-tree into the arrays
+	 *
+	 * @param node the root of the sub-tree
+	 * @param next the indices of the next free node and the next free body
+	 */
+	private void flatten(BvhNode node, int[] next) {
+		int index = next[0]++;
+		BoundingBox box = node.box;
+		for (int axis = 0; axis < 3; ++axis) {
+			bounds[6 * index + axis] = box.getMin(axis);
+			bounds[6 * index + 3 + axis] = box.getMax(axis);
+		}
+		if (node.isLeaf()) {
+			offsets[index] = next[1];
+			counts[index] = node.bodies.length;
+			for (Intersectable body : node.bodies)
+				bodies[next[1]++] = body;
+			return;
+		}
+
+		// the split axis is the one that separates the centers of the children most
+		int axis = 0;
+		double separation = -1;
+		for (int a = 0; a < 3; ++a) {
+			double distance = Math.abs(node.right.box.getCenter(a) - node.left.box.getCenter(a));
+			if (distance > separation) {
+				separation = distance;
+				axis = a;
+			}
+		}
+		boolean leftFirst = node.left.box.getCenter(axis) <= node.right.box.getCenter(axis);
+		counts[index] = -(axis + 1);
+		flatten(leftFirst ? node.left : node.right, next);
+		offsets[index] = next[0];
+		flatten(leftFirst ? node.right : node.left, next);
+	}
+
+	/**
+	 * Replaces a body in the leaves of the hierarchy. The boxes of the nodes are
+	 * not updated until {@link #refit()} is called.
+	 *
+	 * @param old     the body to be replaced
+	 * @param updated the body to be put instead
+	 * @return true if the body was found, false otherwise
+	 */
+	boolean replace(Intersectable old, Intersectable updated) {
+		for (int i = 0; i < bodies.length; ++i)
+			if (bodies[i] == old) {
+				bodies[i] = updated;
+				return true;
+			}
+		return false;
+	}
+
+	/**
+	 * Recalculates the boxes of all the nodes from the current boxes of the
+	 * bodies, keeping the structure of the tree. The children of a node always
+	 * follow it in the arrays, so the nodes are visited in reverse order and the
+	 * boxes are united bottom-up in a single pass. It mustn't run while rays are
+	 * traced through the hierarchy.
+	 */
+	void refit() {
+		for (int node = counts.length - 1; node >= 0; --node) {
+			int b = 6 * node;
+			int count = counts[node];
+			if (count < 0) {
+				int first = 6 * (node + 1);
+				int second = 6 * offsets[node];
+				for (int axis = 0; axis < 3; ++axis) {
+					bounds[b + axis] = Math.min(bounds[first + axis], bounds[second + axis]);
+					bounds[b + 3 + axis] = Math.max(bounds[first + 3 + axis], bounds[second + 3 + axis]);
+				}
+				continue;
+			}
+			BoundingBox box = bodies[offsets[node]].getBoundingBox();
+			for (int i = offsets[node] + 1, end = offsets[node] + count; i < end; ++i)
+				box = box.union(bodies[i].getBoundingBox());
+			for (int axis = 0; axis < 3; ++axis) {
+				bounds[b + axis] = box.getMin(axis);
+				bounds[b + 3 + axis] = box.getMax(axis);
+			}
+		}
+	}
+
+	/**
+	 * Calculates the expected cost of a random ray according to the surface area
+	 * heuristic (see {@link BvhStatistics#expectedCost()}) for the current boxes
+	 *
+	 * @param traversalCost    the cost of visiting an inner node
+	 * @param intersectionCost the cost of intersecting a single body
+	 * @return the expected cost of the hierarchy
+	 */
+	double expectedCost(double traversalCost, double intersectionCost) {
+		if (counts.length == 0)
+			return 0;
+		double rootArea = surfaceArea(0);
+		double cost = 0;
+		for (int node = 0; node < counts.length; ++node) {
+			// a degenerated root box (e.g. a single flat body) is crossed by every ray
+			double probability = rootArea > 0 ? surfaceArea(node) / rootArea : 1;
+			int count = counts[node];
+			cost += probability * (count < 0 ? traversalCost : count * intersectionCost);
+		}
+		return cost;
+	}
+
+	/**
+	 * Calculates the surface area of the box of a node
+	 *
+	 * @param node the index of the node
+	 * @return the surface area of the box
+	 */
+	private double surfaceArea(int node) {
+		int b = 6 * node;
+		double dx = bounds[b + 3] - bounds[b];
+		double dy = bounds[b + 4] - bounds[b + 1];
+		double dz = bounds[b + 5] - bounds[b + 2];
+		return 2 * (dx * dy + dy * dz + dz * dx);
+	}
+
+	/**
+	 * Checks whether a ray crosses the box of a node
+	 *
+	 * @param node        the index of the node
+	 * @param x           the x coordinate of the ray origin
+	 * @param y           the y coordinate of the ray origin
+	 * @param z           the z coordinate of the ray origin
+	 * @param invX        1 / the x component of the ray direction
+	 * @param invY        1 / the y component of the ray direction
+	 * @param invZ        1 / the z component of the ray direction
+	 * @param maxDistance the maximum distance along the ray
+	 * @return true if the ray crosses the box, false otherwise
+	 */
+	private boolean intersects(int node, double x, double y, double z, double invX, double invY, double invZ,
+			double maxDistance) {
+		int b = 6 * node;
+		return BoundingBox.intersects(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4],
+				bounds[b + 5], x, y, z, invX, invY, invZ, maxDistance);
+	}
+
+	/**
+	 * Finds all the intersections of a ray with the bodies of the hierarchy
+	 *
+	 * @param ray              the ray to intersect
+	 * @param maxDistance      the maximum distance to find the intersections
+	 * @param intersectionList the intersections found so far (may be null)
+	 * @return the intersections found so far including the intersections with the
+	 *         hierarchy (null if there are no intersections at all)
+	 */
+	List<GeoPoint> findIntersections(Ray ray, double maxDistance, List<GeoPoint> intersectionList) {
+		if (counts.length == 0)
+			return intersectionList;
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
+		int[] stack = new int[depth];
+		int top = 0;
+		int node = 0;
+		while (true) {
+			if (intersects(node, x, y, z, invX, invY, invZ, maxDistance)) {
+				int count = counts[node];
+				if (count < 0) {
+					// inner node - continue to the first child and keep the second one
+					stack[top++] = offsets[node];
+					++node;
+					continue;
+				}
+				for (int i = offsets[node], end = i + count; i < end; ++i) {
+					var intersections = bodies[i].findGeoIntersections(ray, maxDistance);
+					if (intersections != null) {
+						if (intersectionList == null)
+							intersectionList = new LinkedList<>(intersections);
+						else
+							intersectionList.addAll(intersections);
+					}
+				}
+			}
+			if (top == 0)
+				return intersectionList;
+			node = stack[--top];
+		}
+	}
+
+	/**
+	 * Multiplies the transmittance of a ray by the transparency of the bodies of
+	 * the hierarchy, until the ray is blocked. The order of the nodes doesn't
+	 * matter, so the traversal is the same as in
+	 * {@link #findIntersections(Ray, double, List)}.
+	 *
+	 * @param ray              the ray to check
+	 * @param maxDistance      the maximum distance to find the blockers
+	 * @param transmittance    the transmittance of the blockers found so far
+	 * @param minTransmittance the transmittance that is considered as a full
+	 *                         block
+	 * @return the transmittance including the hierarchy ({@link Double3#ZERO} if
+	 *         it is lower than the minimum)
+	 */
+	Double3 findTransmittance(Ray ray, double maxDistance, Double3 transmittance, double minTransmittance) {
+		if (counts.length == 0)
+			return transmittance;
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
+		int[] stack = new int[depth];
+		int top = 0;
+		int node = 0;
+		while (true) {
+			if (intersects(node, x, y, z, invX, invY, invZ, maxDistance)) {
+				int count = counts[node];
+				if (count < 0) {
+					stack[top++] = offsets[node];
+					++node;
+					continue;
+				}
+				for (int i = offsets[node], end = i + count; i < end; ++i) {
+					transmittance = bodies[i].findTransmittanceHelper(ray, maxDistance, transmittance,
+							minTransmittance);
+					if (transmittance.lowerThan(minTransmittance))
+						return Double3.ZERO;
+				}
+			}
+			if (top == 0)
+				return transmittance;
+			node = stack[--top];
+		}
+	}
+
+	/**
+	 * Finds the closest intersection of a ray with the bodies of the hierarchy.
+	 * The child that is nearer to the ray origin is visited first, and every
+	 * intersection found shortens the distance that the rest of the boxes are
+	 * tested against, so the far sub-trees are usually rejected by their boxes.
+	 *
+	 * @param ray         the ray to intersect
+	 * @param maxDistance the maximum distance to find the intersection
+	 * @return the closest intersection, or null if there is no intersection
+	 *         closer than the maximum distance
+	 */
+	GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+		if (counts.length == 0)
+			return null;
+		Point head = ray.getHead();
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
+		GeoPoint closest = null;
+		int[] stack = new int[depth];
+		int top = 0;
+		int node = 0;
+		while (true) {
+			if (intersects(node, x, y, z, invX, invY, invZ, maxDistance)) {
+				int count = counts[node];
+				if (count < 0) {
+					// inner node - the first child is the lower one along the split axis
+					int axis = -count - 1;
+					boolean negative = ray.isNegative(axis);
+					stack[top++] = negative ? node + 1 : offsets[node];
+					node = negative ? offsets[node] : node + 1;
+					continue;
+				}
+				for (int i = offsets[node], end = i + count; i < end; ++i) {
+					GeoPoint intersection = bodies[i].findClosestGeoIntersection(ray, maxDistance);
+					if (intersection != null) {
+						closest = intersection;
+						maxDistance = intersection.distance(head);
+					}
+				}
+			}
+			if (top == 0)
+				return closest;
+			node = stack[--top];
+		}
+	}
+}
@@ -2,6 +2,8 @@ package geometries;
 
 import java.util.LinkedList;
 import java.util.List;
+import primitives.Double3;
+import primitives.Point;
 import primitives.Ray;
 
 /**
@@ -12,11 +14,14 @@ import primitives.Ray;
  * @author Lior &amp; Asaf
  */
 public class Geometries extends Intersectable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/**
-	 * list of all the geometries bodies
+	 * list of all the geometries bodies (a linked list, which is serializable)
 	 */
-	private final List<Intersectable> geometries = new LinkedList<>();
+	@SuppressWarnings("serial")
+	protected final List<Intersectable> geometries = new LinkedList<>();
 
 	/**
 	 * default contractor for Geometries class
@@ -42,12 +47,72 @@ public class Geometries extends Intersectable {
 	 */
 	public void add(Intersectable... geometries) {
 		this.geometries.addAll(List.of(geometries));
+		resetBoundingBox();
+	}
+
+	/**
+	 * Replaces a body of the collection by another one, e.g. by the same body
+	 * after it was moved (the bodies themselves are immutable).
+	 * 
+	 * @param old     the body to be replaced
+	 * @param updated the body to be put instead
+	 * @throws IllegalArgumentException if the body isn't in the collection
+	 */
+	public void replace(Intersectable old, Intersectable updated) {
+		var iterator = geometries.listIterator();
+		while (iterator.hasNext())
+			if (iterator.next() == old) {
+				iterator.set(updated);
+				resetBoundingBox();
+				return;
+			}
+		throw new IllegalArgumentException("The body to be replaced isn't in the collection");
+	}
+
+	/**
+	 * Updates the collection after its nested collections were changed - the
+	 * nested collections are refitted first, and then the bounding box of the
+	 * collection is recalculated.
+	 */
+	public void refit() {
+		for (Intersectable geo : geometries)
+			if (geo instanceof Geometries nested)
+				nested.refit();
+		resetBoundingBox();
+	}
+
+	/**
+	 * Prepares the collection for rendering - builds the acceleration structures
+	 * of the nested collections. The plain collection itself needs no preparation.
+	 * 
+	 * @param parallelism the amount of threads that may be used for the
+	 *                    preparation
+	 */
+	public void prepare(int parallelism) {
+		for (Intersectable geo : geometries)
+			if (geo instanceof Geometries nested)
+				nested.prepare(parallelism);
+	}
+
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		// a single unbounded body makes the whole collection unbounded
+		BoundingBox box = BoundingBox.EMPTY;
+		for (Intersectable geo : geometries)
+			box = box.union(geo.getBoundingBox());
+		return box;
 	}
 
 	@Override
 	public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
 		List<GeoPoint> intersectionList = null;
 		for (Intersectable geo : geometries) {
+			// reject the bodies whose box is missed before the full intersection test
+			if (!geo.getBoundingBox().intersects(x, y, z, invX, invY, invZ, maxDistance))
+				continue;
 			var intersections = geo.findGeoIntersections(ray, maxDistance);
 			if (intersections != null) {
 				if (intersectionList == null)
@@ -59,4 +124,41 @@ public class Geometries extends Intersectable {
 		return intersectionList;
 	}
 
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		Point head = ray.getHead();
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
+		GeoPoint closest = null;
+		for (Intersectable geo : geometries) {
+			// every intersection shortens the distance the next bodies are tested to
+			if (!geo.getBoundingBox().intersects(x, y, z, invX, invY, invZ, maxDistance))
+				continue;
+			GeoPoint intersection = geo.findClosestGeoIntersection(ray, maxDistance);
+			if (intersection != null) {
+				closest = intersection;
+				maxDistance = intersection.distance(head);
+			}
+		}
+		return closest;
+	}
+
+	@Override
+	protected Double3 findTransmittanceHelper(Ray ray, double maxDistance, Double3 transmittance,
+			double minTransmittance) {
+		double x = ray.getHeadX(), y = ray.getHeadY(), z = ray.getHeadZ();
+		double invX = ray.getInverseX(), invY = ray.getInverseY(), invZ = ray.getInverseZ();
+
+		for (Intersectable geo : geometries) {
+			if (!geo.getBoundingBox().intersects(x, y, z, invX, invY, invZ, maxDistance))
+				continue;
+			transmittance = geo.findTransmittanceHelper(ray, maxDistance, transmittance, minTransmittance);
+			// the ray is blocked - the rest of the bodies don't matter
+			if (transmittance.lowerThan(minTransmittance))
+				return Double3.ZERO;
+		}
+		return transmittance;
+	}
+
 }
@@ -1,8 +1,10 @@
 package geometries;
 
 import primitives.Color;
+import primitives.Double3;
 import primitives.Material;
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 
 /**
@@ -13,6 +15,8 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public abstract class Geometry extends Intersectable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** The emission color of the geometry (black is the default color). */
 	protected Color emission = Color.BLACK;
@@ -67,4 +71,13 @@ public abstract class Geometry extends Intersectable {
 		this.material = material;
 		return this;
 	}
+
+	@Override
+	protected Double3 findTransmittanceHelper(Ray ray, double maxDistance, Double3 transmittance,
+			double minTransmittance) {
+		// if a single intersection blocks the ray, any intersection will do
+		if (transmittance.product(material.kT).lowerThan(minTransmittance))
+			return findClosestGeoIntersectionHelper(ray, maxDistance) == null ? transmittance : Double3.ZERO;
+		return super.findTransmittanceHelper(ray, maxDistance, transmittance, minTransmittance);
+	}
 }
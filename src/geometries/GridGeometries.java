@@ -0,0 +1,175 @@
+package geometries;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import primitives.Double3;
+import primitives.Ray;
+
+/**
+ * A collection of geometric objects that is organized in a uniform grid. The
+ * box of the bodies is divided into equal cells, and a ray visits only the
+ * cells it crosses, from the nearest to the farthest, so the closest
+ * intersection is usually found after a few cells. For scenes of many bodies
+ * of similar sizes (e.g. a cloud of {@link Sphere}s or a terrain of
+ * {@link Triangle}s) it is faster to build and to traverse than
+ * {@link BvhGeometries}, while big bodies that overlap many cells make it
+ * worse.<br>
+ * The grid is built lazily on the first intersection after the collection was
+ * changed. Unbounded bodies (e.g. a {@link Plane}) are kept outside the grid
+ * and are always tested.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class GridGeometries extends Geometries {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The amount of cells along the longest axis per cube root of the bodies */
+	private double density = 3;
+
+	/** The compiled grid (null until the grid is built) */
+	private transient volatile UniformGrid grid = null;
+
+	/** The unbounded bodies - they are tested against every ray */
+	private transient List<Intersectable> unbounded = List.of();
+
+	/**
+	 * default constructor for GridGeometries class
+	 */
+	public GridGeometries() {
+	}
+
+	/**
+	 * parametric constructor to add all the geometries bodies to the grid
+	 *
+	 * @param geometries an array of Intersectable objects to be added to the
+	 *                   grid.
+	 */
+	public GridGeometries(Intersectable... geometries) {
+		super(geometries);
+	}
+
+	@Override
+	public void add(Intersectable... geometries) {
+		super.add(geometries);
+		// the grid will be rebuilt on the next intersection
+		grid = null;
+	}
+
+	@Override
+	public void replace(Intersectable old, Intersectable updated) {
+		super.replace(old, updated);
+		grid = null;
+	}
+
+	@Override
+	public void refit() {
+		super.refit();
+		grid = null;
+	}
+
+	/**
+	 * Sets the resolution of the grid: the amount of cells along the longest axis
+	 * of the box is the density multiplied by the cube root of the amount of
+	 * bodies (3 by default), and the cells are about cubic
+	 *
+	 * @param density the amount of cells per cube root of the amount of bodies
+	 * @return the collection itself (for method chaining)
+	 * @throws IllegalArgumentException if the density is not positive
+	 */
+	public GridGeometries setDensity(double density) {
+		if (density <= 0)
+			throw new IllegalArgumentException("The grid density must be positive");
+		this.density = density;
+		grid = null;
+		return this;
+	}
+
+	/**
+	 * Builds the grid over the current bodies of the collection. There is no need
+	 * to call it explicitly - it is called on the first intersection after a
+	 * change, but it may be used to build the grid before the rendering.
+	 *
+	 * @return the collection itself (for method chaining)
+	 */
+	public synchronized GridGeometries build() {
+		List<Intersectable> outside = new LinkedList<>();
+		List<Intersectable> bounded = new LinkedList<>();
+		for (Intersectable geo : geometries)
+			(geo.getBoundingBox().isBounded() ? bounded : outside).add(geo);
+		unbounded = outside;
+		grid = bounded.isEmpty() ? UniformGrid.EMPTY
+				: new UniformGrid(bounded.toArray(new Intersectable[bounded.size()]), density);
+		return this;
+	}
+
+	/**
+	 * Builds the grid, unless it is already built for the current bodies
+	 */
+	@Override
+	public void prepare(int parallelism) {
+		super.prepare(parallelism);
+		getGrid();
+	}
+
+	/**
+	 * Returns the compiled grid, and builds the grid if it wasn't built yet
+	 *
+	 * @return the compiled grid
+	 */
+	private UniformGrid getGrid() {
+		UniformGrid compiled = grid;
+		if (compiled != null)
+			return compiled;
+		synchronized (this) {
+			if (grid == null)
+				build();
+			return grid;
+		}
+	}
+
+	@Override
+	public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+		UniformGrid compiled = getGrid();
+		List<GeoPoint> intersectionList = null;
+		for (Intersectable geo : unbounded) {
+			var intersections = geo.findGeoIntersections(ray, maxDistance);
+			if (intersections != null) {
+				if (intersectionList == null)
+					intersectionList = new LinkedList<>(intersections);
+				else
+					intersectionList.addAll(intersections);
+			}
+		}
+		return compiled.findIntersections(ray, maxDistance, intersectionList);
+	}
+
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		UniformGrid compiled = getGrid();
+		// the unbounded bodies are tested first, to shorten the walk through the grid
+		GeoPoint closest = null;
+		for (Intersectable geo : unbounded) {
+			GeoPoint intersection = geo.findClosestGeoIntersection(ray, maxDistance);
+			if (intersection != null) {
+				closest = intersection;
+				maxDistance = intersection.distance(ray.getHead());
+			}
+		}
+		GeoPoint gridClosest = compiled.findClosestIntersection(ray, maxDistance);
+		return gridClosest == null ? closest : gridClosest;
+	}
+
+	@Override
+	protected Double3 findTransmittanceHelper(Ray ray, double maxDistance, Double3 transmittance,
+			double minTransmittance) {
+		UniformGrid compiled = getGrid();
+		for (Intersectable geo : unbounded) {
+			transmittance = geo.findTransmittanceHelper(ray, maxDistance, transmittance, minTransmittance);
+			if (transmittance.lowerThan(minTransmittance))
+				return Double3.ZERO;
+		}
+		return compiled.findTransmittance(ray, maxDistance, transmittance, minTransmittance);
+	}
+}
@@ -1,8 +1,11 @@
 package geometries;
 
+import java.io.Serializable;
 import java.util.List;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
 /**
  * The Intersectable abstract class defines the intersections that may have
@@ -10,7 +13,13 @@ import primitives.Ray;
  * 
  * @author Lior &amp; Asaf
  */
-public abstract class Intersectable {
+public abstract class Intersectable implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The bounding box of the object - calculated on the first demand */
+	private transient BoundingBox boundingBox = null;
+
 	/**
 	 * finds all the intersections between a given ray and objects
 	 * 
@@ -55,10 +64,127 @@ public abstract class Intersectable {
 	 */
 	protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
 
+	/**
+	 * find the closest intersection of the given ray with the shapes, without
+	 * building a list of all the intersections
+	 * 
+	 * @param ray the given ray parameter to find the intersection with
+	 * @return the closest intersection to the ray head, or null if there is no
+	 *         intersection
+	 */
+	public final GeoPoint findClosestGeoIntersection(Ray ray) {
+		return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * find the closest intersection of the given ray with the shapes, that is
+	 * closer than the given maximum. Composite shapes shrink the maximum to the
+	 * closest intersection found so far while they pass over their bodies.
+	 * 
+	 * @param ray         the given ray parameter to find the intersection with
+	 * @param maxDistance the maximum distance to find the intersection
+	 * @return the closest intersection to the ray head, or null if there is no
+	 *         intersection closer than the maximum distance
+	 */
+	public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+		return findClosestGeoIntersectionHelper(ray, maxDistance);
+	}
+
+	/**
+	 * find the closest intersection of the given ray with the shapes, that is
+	 * closer than the given maximum. The default implementation picks the closest
+	 * of all the intersections, shapes override it to avoid the list.
+	 * 
+	 * @param ray         the given ray parameter
+	 * @param maxDistance the maximum distance to find the intersection
+	 * @return the closest intersection to the ray head, or null if there is no
+	 *         intersection closer than the maximum distance
+	 */
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		return ray.findClosestGeoPoint(findGeoIntersectionsHelper(ray, maxDistance));
+	}
+
+	/**
+	 * find the transmittance of the shapes along the given ray - the product of
+	 * the transparency coefficients (kT) of all the intersections closer than the
+	 * given maximum. The query stops at the first blocker that makes the product
+	 * lower than the given minimum, so an opaque blocker ends it at once.
+	 * 
+	 * @param ray              the given ray parameter (e.g. from a point towards
+	 *                         a light source)
+	 * @param maxDistance      the maximum distance to find the blockers
+	 * @param minTransmittance the transmittance that is considered as a full
+	 *                         block
+	 * @return the transmittance along the ray ({@link Double3#ZERO} if it is
+	 *         lower than the minimum)
+	 */
+	public final Double3 findTransmittance(Ray ray, double maxDistance, double minTransmittance) {
+		return findTransmittanceHelper(ray, maxDistance, Double3.ONE, minTransmittance);
+	}
+
+	/**
+	 * multiply the transmittance of the ray so far by the transparency
+	 * coefficients (kT) of the intersections with the shapes. The default
+	 * implementation passes over all the intersections.
+	 * 
+	 * @param ray              the given ray parameter
+	 * @param maxDistance      the maximum distance to find the blockers
+	 * @param transmittance    the transmittance of the blockers found so far
+	 * @param minTransmittance the transmittance that is considered as a full
+	 *                         block
+	 * @return the transmittance including the shapes ({@link Double3#ZERO} if it
+	 *         is lower than the minimum)
+	 */
+	protected Double3 findTransmittanceHelper(Ray ray, double maxDistance, Double3 transmittance,
+			double minTransmittance) {
+		var intersections = findGeoIntersectionsHelper(ray, maxDistance);
+		if (intersections == null)
+			return transmittance;
+		for (GeoPoint gp : intersections) {
+			transmittance = transmittance.product(gp.geometry.getMaterial().kT);
+			if (transmittance.lowerThan(minTransmittance))
+				return Double3.ZERO;
+		}
+		return transmittance;
+	}
+
+	/**
+	 * Returns the axis aligned bounding box of the object. Objects that have no
+	 * finite extent return {@link BoundingBox#UNBOUNDED}. The box is calculated
+	 * once and is kept until {@link #resetBoundingBox()} is called.
+	 * 
+	 * @return the bounding box of the object
+	 */
+	public final BoundingBox getBoundingBox() {
+		BoundingBox box = boundingBox;
+		if (box == null)
+			boundingBox = box = calcBoundingBox();
+		return box;
+	}
+
+	/**
+	 * Calculates the axis aligned bounding box of the object
+	 * 
+	 * @return the bounding box of the object ({@link BoundingBox#UNBOUNDED} for
+	 *         unbounded objects)
+	 */
+	protected abstract BoundingBox calcBoundingBox();
+
+	/**
+	 * Drops the kept bounding box, so it will be recalculated on the next demand.
+	 * Must be called whenever the extent of the object changes.
+	 */
+	protected void resetBoundingBox() {
+		boundingBox = null;
+	}
+
 	/**
 	 * GeoPoint is a static inner class that associates a Geometry object with a
 	 * specific point in 3D space. This class is used to represent an intersection
-	 * point on a geometry along with the geometry itself.
+	 * point on a geometry along with the geometry itself.<br>
+	 * The geometries also keep in it the values that they calculate while they
+	 * find the intersection - the distance along the ray, the normal and the
+	 * surface coordinates - so the shading doesn't calculate them again.
 	 * 
 	 * @see Geometry
 	 * @see Point
@@ -71,6 +197,24 @@ public abstract class Intersectable {
 		/** The specific point on the geometry. */
 		public Point point;
 
+		/** The distance of the point along the ray that found it (NaN - unknown) */
+		public double t = Double.NaN;
+
+		/** The normal to the geometry at the point (null - not calculated yet) */
+		public Vector normal = null;
+
+		/**
+		 * The first surface coordinate - the barycentric coordinate of the second
+		 * vertex of a triangle (NaN - none)
+		 */
+		public double u = Double.NaN;
+
+		/**
+		 * The second surface coordinate - the barycentric coordinate of the third
+		 * vertex of a triangle (NaN - none)
+		 */
+		public double v = Double.NaN;
+
 		/**
 		 * Parametric constructor for GeoPoint
 		 * 
@@ -82,6 +226,57 @@ public abstract class Intersectable {
 			this.point = point;
 		}
 
+		/**
+		 * Parametric constructor for GeoPoint of an intersection
+		 * 
+		 * @param geometry given geometry
+		 * @param point    given point
+		 * @param t        the distance of the point along the ray
+		 * @param normal   the normal to the geometry at the point (null - not
+		 *                 calculated)
+		 */
+		public GeoPoint(Geometry geometry, Point point, double t, Vector normal) {
+			this.geometry = geometry;
+			this.point = point;
+			this.t = t;
+			this.normal = normal;
+		}
+
+		/**
+		 * Sets the surface coordinates of the point
+		 * 
+		 * @param u the first coordinate
+		 * @param v the second coordinate
+		 * @return the GeoPoint itself
+		 */
+		public GeoPoint setUV(double u, double v) {
+			this.u = u;
+			this.v = v;
+			return this;
+		}
+
+		/**
+		 * Gets the normal to the geometry at the point - it is calculated by the
+		 * geometry if the intersection didn't keep it
+		 * 
+		 * @return the normal
+		 */
+		public Vector getNormal() {
+			if (normal == null)
+				normal = geometry.getNormal(point);
+			return normal;
+		}
+
+		/**
+		 * Gets the distance of the point from the head of the ray that found it
+		 * 
+		 * @param head the head of the ray
+		 * @return the distance (the kept distance along the ray, if it is known)
+		 */
+		public double distance(Point head) {
+			return Double.isNaN(t) ? point.distance(head) : t;
+		}
+
 		@Override
 		public boolean equals(Object obj) {
 			if (this == obj)
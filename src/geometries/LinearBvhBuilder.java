@@ -0,0 +1,303 @@
+package geometries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Linear bounding volume hierarchy (LBVH) builder. The centers of the bodies
+ * are quantized on a grid over the scene and ordered along a Z-order curve by
+ * their Morton codes (the interleaved bits of the grid coordinates), so bodies
+ * that are close in space become close in the order. The codes are sorted by
+ * a radix sort, and every range of bodies is split where the highest bit of
+ * their codes changes - no cost evaluation and no comparison sort at all.<br>
+ * The hierarchy is worse than the {@link SahBvhBuilder} one, but it is built
+ * many times faster, so it suits scenes that are rebuilt for every frame. In a
+ * parallel build, the codes are calculated and sorted in parallel chunks, and
+ * the sub-trees of big ranges are built as separate tasks.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class LinearBvhBuilder extends BvhBuilder {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The amount of bits of a radix sort digit */
+	private static final int DIGIT_BITS = 8;
+	/** The amount of values of a radix sort digit */
+	private static final int RADIX = 1 << DIGIT_BITS;
+	/** The maximal amount of bits per axis (a Morton code must fit into a long) */
+	private static final int MAX_BITS_PER_AXIS = 21;
+
+	/** The amount of bits of the grid coordinate along each axis */
+	private int bitsPerAxis = MAX_BITS_PER_AXIS;
+
+	/**
+	 * Sets the resolution of the grid that the bodies centers are quantized on -
+	 * 10 bits per axis give 30-bit Morton codes, 21 bits per axis (the default)
+	 * give 63-bit codes. Coarser codes are sorted in less passes, but more bodies
+	 * share the same code and are split blindly.
+	 *
+	 * @param bitsPerAxis the amount of bits along each axis
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if the amount is not between 1 and 21
+	 */
+	public LinearBvhBuilder setBitsPerAxis(int bitsPerAxis) {
+		if (bitsPerAxis < 1 || bitsPerAxis > MAX_BITS_PER_AXIS)
+			throw new IllegalArgumentException("The bits per axis must be between 1 and " + MAX_BITS_PER_AXIS);
+		this.bitsPerAxis = bitsPerAxis;
+		return this;
+	}
+
+	@Override
+	BvhNode build(Intersectable[] bodies, BoundingBox[] boxes) {
+		int n = bodies.length;
+		// the range of the bodies centers that the grid is spread over
+		double[] bounds = reduce(0, n, (f, t) -> centersBounds(boxes, f, t), LinearBvhBuilder::mergeBounds);
+		int cells = 1 << bitsPerAxis;
+		double[] scale = new double[3];
+		for (int axis = 0; axis < 3; ++axis) {
+			double extent = bounds[3 + axis] - bounds[axis];
+			scale[axis] = extent > 0 ? cells / extent : 0;
+		}
+
+		long[] codes = new long[n];
+		int[] order = new int[n];
+		int chunkSize = isParallel(n) ? parallelThreshold : n;
+		forEachChunk(n, chunkSize, chunk -> {
+			for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; ++i) {
+				long code = 0;
+				for (int axis = 0; axis < 3; ++axis) {
+					int cell = (int) ((boxes[i].getCenter(axis) - bounds[axis]) * scale[axis]);
+					code |= spreadBits(cell < cells ? cell : cells - 1) << (2 - axis);
+				}
+				codes[i] = code;
+				order[i] = i;
+			}
+		});
+		radixSort(codes, order, chunkSize);
+
+		// reorder the bodies along the curve
+		Intersectable[] sortedBodies = new Intersectable[n];
+		BoundingBox[] sortedBoxes = new BoundingBox[n];
+		for (int i = 0; i < n; ++i) {
+			sortedBodies[i] = bodies[order[i]];
+			sortedBoxes[i] = boxes[order[i]];
+		}
+		System.arraycopy(sortedBodies, 0, bodies, 0, n);
+		System.arraycopy(sortedBoxes, 0, boxes, 0, n);
+		return buildNode(bodies, boxes, codes, 0, n);
+	}
+
+	/**
+	 * Builds recursively the sub-tree of the bodies in the given range. The box of
+	 * an inner node is united from the boxes of its children, so every body box is
+	 * visited once.
+	 *
+	 * @param bodies the bodies of the hierarchy (sorted by their codes)
+	 * @param boxes  the bounding boxes of the bodies (in the same order)
+	 * @param codes  the sorted Morton codes of the bodies
+	 * @param from   the first body of the range (inclusive)
+	 * @param to     the last body of the range (exclusive)
+	 * @return the root of the sub-tree
+	 */
+	private BvhNode buildNode(Intersectable[] bodies, BoundingBox[] boxes, long[] codes, int from, int to) {
+		int count = to - from;
+		if (count <= maxLeafSize) {
+			Intersectable[] leaf = new Intersectable[count];
+			System.arraycopy(bodies, from, leaf, 0, count);
+			return new BvhNode(union(boxes, from, to), leaf);
+		}
+		int split = findSplit(codes, from, to);
+		return buildInParallel(null, count, //
+				() -> buildNode(bodies, boxes, codes, from, split), //
+				() -> buildNode(bodies, boxes, codes, split, to));
+	}
+
+	/**
+	 * Finds the first body of a range whose code differs from the code of the
+	 * first body in the highest bit that changes along the range (binary search
+	 * over the sorted codes)
+	 *
+	 * @param codes the sorted Morton codes
+	 * @param from  the first body of the range (inclusive)
+	 * @param to    the last body of the range (exclusive)
+	 * @return the first body of the right sub-range
+	 */
+	private static int findSplit(long[] codes, int from, int to) {
+		long first = codes[from];
+		long last = codes[to - 1];
+		// all the bodies share the same cell - split the range in the middle
+		if (first == last)
+			return (from + to) >>> 1;
+
+		int prefix = Long.numberOfLeadingZeros(first ^ last);
+		int split = from;
+		int step = to - 1 - from;
+		do {
+			step = (step + 1) >>> 1;
+			int next = split + step;
+			if (next < to - 1 && Long.numberOfLeadingZeros(first ^ codes[next]) > prefix)
+				split = next;
+		} while (step > 1);
+		return split + 1;
+	}
+
+	/**
+	 * Sorts the codes (and the body indices along with them) by a least
+	 * significant digit radix sort. Each pass counts the digits of every chunk,
+	 * calculates the target of every chunk and digit, and scatters the chunks -
+	 * the counting and the scattering of the chunks run in parallel. Passes over
+	 * digits that are the same for all the codes are skipped.
+	 *
+	 * @param codes     the codes to sort
+	 * @param order     the body indices of the codes
+	 * @param chunkSize the amount of codes of each chunk
+	 */
+	private void radixSort(long[] codes, int[] order, int chunkSize) {
+		int n = codes.length;
+		int chunks = (n + chunkSize - 1) / chunkSize;
+		int[][] histograms = new int[chunks][RADIX];
+		long[] sourceCodes = codes;
+		int[] sourceOrder = order;
+		long[] targetCodes = new long[n];
+		int[] targetOrder = new int[n];
+
+		for (int shift = 0; shift < 3 * bitsPerAxis; shift += DIGIT_BITS) {
+			final int digitShift = shift;
+			final long[] fromCodes = sourceCodes;
+			final int[] fromOrder = sourceOrder;
+			final long[] toCodes = targetCodes;
+			final int[] toOrder = targetOrder;
+
+			forEachChunk(n, chunkSize, chunk -> {
+				int[] histogram = histograms[chunk];
+				Arrays.fill(histogram, 0);
+				for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; ++i)
+					++histogram[(int) (fromCodes[i] >>> digitShift) & (RADIX - 1)];
+			});
+			// the histograms are turned into the first targets of each chunk digit
+			int target = 0;
+			for (int digit = 0; digit < RADIX; ++digit)
+				for (int chunk = 0; chunk < chunks; ++chunk) {
+					int count = histograms[chunk][digit];
+					histograms[chunk][digit] = target;
+					target += count;
+				}
+			// all the codes have the same digit - the pass wouldn't change the order
+			if (isSameDigit(histograms, n))
+				continue;
+
+			forEachChunk(n, chunkSize, chunk -> {
+				int[] targets = histograms[chunk];
+				for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; ++i) {
+					int index = targets[(int) (fromCodes[i] >>> digitShift) & (RADIX - 1)]++;
+					toCodes[index] = fromCodes[i];
+					toOrder[index] = fromOrder[i];
+				}
+			});
+			sourceCodes = toCodes;
+			sourceOrder = toOrder;
+			targetCodes = fromCodes;
+			targetOrder = fromOrder;
+		}
+		if (sourceCodes != codes) {
+			System.arraycopy(sourceCodes, 0, codes, 0, n);
+			System.arraycopy(sourceOrder, 0, order, 0, n);
+		}
+	}
+
+	/**
+	 * Checks whether all the codes have the same digit, according to the targets
+	 * of the chunks digits - then the targets of a single digit of the first
+	 * chunk are 0 and of the next digit are n
+	 *
+	 * @param targets the first targets of each chunk digit
+	 * @param n       the amount of codes
+	 * @return true if all the codes have the same digit
+	 */
+	private static boolean isSameDigit(int[][] targets, int n) {
+		int[] first = targets[0];
+		for (int digit = 0; digit < RADIX; ++digit)
+			if (first[digit] == 0 && (digit == RADIX - 1 ? n : first[digit + 1]) == n)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Runs an action for every chunk of a range of bodies - in parallel if there
+	 * are several chunks
+	 *
+	 * @param n         the amount of bodies
+	 * @param chunkSize the amount of bodies of each chunk
+	 * @param action    the action, that receives the index of the chunk
+	 */
+	private static void forEachChunk(int n, int chunkSize, IntConsumer action) {
+		int chunks = (n + chunkSize - 1) / chunkSize;
+		if (chunks == 1) {
+			action.accept(0);
+			return;
+		}
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+		for (int chunk = 0; chunk < chunks; ++chunk) {
+			final int index = chunk;
+			tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+		}
+		ForkJoinTask.invokeAll(tasks);
+	}
+
+	/**
+	 * Spreads the lower 21 bits of a grid coordinate so there are two zero bits
+	 * between every two bits (the coordinates of the three axes are interleaved
+	 * into a Morton code)
+	 *
+	 * @param value the grid coordinate
+	 * @return the spread bits
+	 */
+	private static long spreadBits(long value) {
+		long x = value & 0x1fffffL;
+		x = (x | x << 32) & 0x1f00000000ffffL;
+		x = (x | x << 16) & 0x1f0000ff0000ffL;
+		x = (x | x << 8) & 0x100f00f00f00f00fL;
+		x = (x | x << 4) & 0x10c30c30c30c30c3L;
+		x = (x | x << 2) & 0x1249249249249249L;
+		return x;
+	}
+
+	/**
+	 * Calculates the box of the centers of a range of bodies
+	 *
+	 * @param boxes the bounding boxes of the bodies
+	 * @param from  the first body of the range (inclusive)
+	 * @param to    the last body of the range (exclusive)
+	 * @return the 6 coordinates of the centers box
+	 */
+	private static double[] centersBounds(BoundingBox[] boxes, int from, int to) {
+		double[] bounds = { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, //
+				Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		for (int i = from; i < to; ++i)
+			for (int axis = 0; axis < 3; ++axis) {
+				double center = boxes[i].getCenter(axis);
+				bounds[axis] = Math.min(bounds[axis], center);
+				bounds[3 + axis] = Math.max(bounds[3 + axis], center);
+			}
+		return bounds;
+	}
+
+	/**
+	 * Merges the centers boxes of two ranges
+	 *
+	 * @param left  the box of the first range
+	 * @param right the box of the second range
+	 * @return the united box (in the first array)
+	 */
+	private static double[] mergeBounds(double[] left, double[] right) {
+		for (int axis = 0; axis < 3; ++axis) {
+			left[axis] = Math.min(left[axis], right[axis]);
+			left[3 + axis] = Math.max(left[3 + axis], right[3 + axis]);
+		}
+		return left;
+	}
+}
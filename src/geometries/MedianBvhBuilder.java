@@ -0,0 +1,75 @@
+package geometries;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Naive bounding volume hierarchy builder - every range of bodies is split in
+ * the median of the bodies centers along the longest axis, until the ranges
+ * fit into leaves. The resulting tree is balanced, but it ignores the sizes of
+ * the bodies, so it is mostly useful as a reference for the
+ * {@link SahBvhBuilder}.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class MedianBvhBuilder extends BvhBuilder {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	BvhNode build(Intersectable[] bodies, BoundingBox[] boxes) {
+		return buildNode(bodies, boxes, 0, bodies.length);
+	}
+
+	/**
+	 * Builds recursively the sub-tree of the bodies in the given range
+	 *
+	 * @param bodies the bodies of the hierarchy
+	 * @param boxes  the bounding boxes of the bodies (in the same order)
+	 * @param from   the first body of the range (inclusive)
+	 * @param to     the last body of the range (exclusive)
+	 * @return the root of the sub-tree
+	 */
+	private BvhNode buildNode(Intersectable[] bodies, BoundingBox[] boxes, int from, int to) {
+		BoundingBox box = union(boxes, from, to);
+		if (to - from <= maxLeafSize)
+			return new BvhNode(box, Arrays.copyOfRange(bodies, from, to));
+
+		// find the longest axis of the bodies centers
+		int axis = 0;
+		double longest = -1;
+		for (int a = 0; a < 3; ++a) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; ++i) {
+				double c = boxes[i].getCenter(a);
+				min = Math.min(min, c);
+				max = Math.max(max, c);
+			}
+			if (max - min > longest) {
+				longest = max - min;
+				axis = a;
+			}
+		}
+
+		// sort the range by the centers along the axis and split it in the middle
+		final int splitAxis = axis;
+		Integer[] order = new Integer[to - from];
+		for (int i = 0; i < order.length; ++i)
+			order[i] = from + i;
+		Arrays.sort(order, Comparator.comparingDouble(i -> boxes[i].getCenter(splitAxis)));
+		Intersectable[] sortedBodies = new Intersectable[order.length];
+		BoundingBox[] sortedBoxes = new BoundingBox[order.length];
+		for (int i = 0; i < order.length; ++i) {
+			sortedBodies[i] = bodies[order[i]];
+			sortedBoxes[i] = boxes[order[i]];
+		}
+		System.arraycopy(sortedBodies, 0, bodies, from, order.length);
+		System.arraycopy(sortedBoxes, 0, boxes, from, order.length);
+
+		int middle = (from + to) / 2;
+		return buildInParallel(box, to - from, //
+				() -> buildNode(bodies, boxes, from, middle), //
+				() -> buildNode(bodies, boxes, middle, to));
+	}
+}
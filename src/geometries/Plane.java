@@ -14,6 +14,9 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public class Plane extends Geometry {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The base point of the plane.
 	 */
@@ -77,8 +80,19 @@ public class Plane extends Geometry {
 		return base;
 	}
 
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		return BoundingBox.UNBOUNDED;
+	}
+
 	@Override
 	protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+		GeoPoint intersection = findClosestGeoIntersectionHelper(ray, maxDistance);
+		return intersection == null ? null : List.of(intersection);
+	}
+
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
 		// Get the ray's origin and direction
 		Point head = ray.getHead();
 		Vector direction = ray.getDir();
@@ -93,9 +107,10 @@ public class Plane extends Geometry {
 			return null;
 
 		// Calculate the intersection point
-		double t = alignZero(normal.dotProduct(base.subtract(head)) / nv);
+		double t = alignZero(normal.dotProduct(base.getX() - head.getX(), base.getY() - head.getY(),
+				base.getZ() - head.getZ()) / nv);
 		// If the intersection point is behind the ray's origin, there is no
 		// intersection, otherwise return the intersection point
-		return (t <= 0 || alignZero(maxDistance - t) <= 0) ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+		return (t <= 0 || alignZero(maxDistance - t) <= 0) ? null : new GeoPoint(this, ray.getPoint(t), t, normal);
 	}
 }
\ No newline at end of file
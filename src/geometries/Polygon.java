@@ -1,6 +1,5 @@
 package geometries;
 
-import java.util.LinkedList;
 import java.util.List;
 import static primitives.Util.*;
 
@@ -15,7 +14,11 @@ import primitives.Vector;
  * @author Dan
  */
 public class Polygon extends Geometry {
-	/** List of polygon's vertices */
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** List of polygon's vertices (an unmodifiable list, which is serializable) */
+	@SuppressWarnings("serial")
 	protected final List<Point> vertices;
 	/** Associated plane in which the polygon lays */
 	protected final Plane plane;
@@ -87,31 +90,62 @@ public class Polygon extends Geometry {
 		return plane.getNormal();
 	}
 
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		return new BoundingBox(vertices.toArray(new Point[size]));
+	}
+
 	@Override
 	protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-		List<GeoPoint> intersections = plane.findGeoIntersections(ray, maxDistance);
-		if (intersections == null)
+		// a ray crosses a polygon at a single point at most
+		GeoPoint intersection = findClosestGeoIntersectionHelper(ray, maxDistance);
+		return intersection == null ? null : List.of(intersection);
+	}
+
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		GeoPoint intersection = plane.findClosestGeoIntersection(ray, maxDistance);
+		if (intersection == null)
 			return null;
 
 		Point p0 = ray.getHead();
 		Vector v = ray.getDir();
-		List<Vector> vectors = new LinkedList<>();
-		// Construct vectors to the vertices
-		for (Point p : this.vertices)
-			vectors.add(p.subtract(p0));
-		int vSize = size - 1;
+		// The vectors to the vertices are kept as raw coordinates - starting by the
+		// vector to the last vertex, so the first pair is the last and the first
+		Point last = vertices.get(size - 1);
+		double ax = last.getX() - p0.getX();
+		double ay = last.getY() - p0.getY();
+		double az = last.getZ() - p0.getZ();
 		// Cross product each adjacent pair of vectors and check the share the same sign
-		double normal = alignZero(vectors.get(vSize).crossProduct(vectors.getFirst()).dotProduct(v));
-		if (isZero(normal))
-			return null;
-		// boolean sign = normal > 0;
-		for (int i = 0; i < vSize; i++) {
-			normal = alignZero(vectors.get(i).crossProduct(vectors.get(i + 1)).dotProduct(v));
-			if (isZero(normal))
+		for (Point vertex : vertices) {
+			double bx = vertex.getX() - p0.getX();
+			double by = vertex.getY() - p0.getY();
+			double bz = vertex.getZ() - p0.getZ();
+			if (isZero(tripleProduct(ax, ay, az, bx, by, bz, v)))
 				return null;
+			ax = bx;
+			ay = by;
+			az = bz;
 		}
-		// return null or List.of(new GeoPoint(this,point))
-		intersections.getFirst().geometry = this;
-		return intersections;
+		intersection.geometry = this;
+		return intersection;
+	}
+
+	/**
+	 * Calculates the triple product (a x b) * c, where the vectors a and b are
+	 * given by their coordinates (without creating them)
+	 * 
+	 * @param ax the x-coordinate of a
+	 * @param ay the y-coordinate of a
+	 * @param az the z-coordinate of a
+	 * @param bx the x-coordinate of b
+	 * @param by the y-coordinate of b
+	 * @param bz the z-coordinate of b
+	 * @param c  the vector c
+	 * @return the triple product
+	 */
+	protected static double tripleProduct(double ax, double ay, double az, double bx, double by, double bz,
+			Vector c) {
+		return c.dotProduct(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
 	}
 }
@@ -10,6 +10,9 @@ import static primitives.Util.*;
  * @author Lior &amp; Asaf
  */
 public abstract class RadialGeometry extends Geometry {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The radius of the radial shape
 	 */
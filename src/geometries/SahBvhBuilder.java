@@ -0,0 +1,295 @@
+package geometries;
+
+import java.util.Arrays;
+
+/**
+ * Bounding volume hierarchy builder according to the surface area heuristic
+ * (SAH). The cost of splitting a range of bodies into two groups is estimated
+ * as the traversal cost plus the intersection cost of each group, weighted by
+ * the probability of a ray to cross the group box (proportional to its surface
+ * area). The range is split by the cheapest plane, or it becomes a leaf when no
+ * split is cheaper than testing all its bodies.<br>
+ * To keep the build fast, the candidate planes are the borders of a fixed
+ * amount of equal bins along each axis (binned SAH), instead of all the bodies
+ * borders. In a parallel build, the sub-trees of big ranges are built as
+ * separate tasks, and the bodies of big ranges are binned in parallel chunks.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class SahBvhBuilder extends BvhBuilder {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The amount of bins along each axis */
+	private int binsCount = 16;
+
+	/**
+	 * Sets the amount of bins (candidate split planes + 1) along each axis
+	 *
+	 * @param binsCount the amount of bins
+	 * @return the builder itself
+	 * @throws IllegalArgumentException if there are less than two bins
+	 */
+	public SahBvhBuilder setBinsCount(int binsCount) {
+		if (binsCount < 2)
+			throw new IllegalArgumentException("There must be at least two bins");
+		this.binsCount = binsCount;
+		return this;
+	}
+
+	@Override
+	BvhNode build(Intersectable[] bodies, BoundingBox[] boxes) {
+		return buildNode(bodies, boxes, 0, bodies.length);
+	}
+
+	/**
+	 * Builds recursively the sub-tree of the bodies in the given range
+	 *
+	 * @param bodies the bodies of the hierarchy
+	 * @param boxes  the bounding boxes of the bodies (in the same order)
+	 * @param from   the first body of the range (inclusive)
+	 * @param to     the last body of the range (exclusive)
+	 * @return the root of the sub-tree
+	 */
+	private BvhNode buildNode(Intersectable[] bodies, BoundingBox[] boxes, int from, int to) {
+		int count = to - from;
+		if (count == 1)
+			return new BvhNode(boxes[from], Arrays.copyOfRange(bodies, from, to));
+
+		// the box of the range, and the range of the bodies centers that the bins are
+		// spread over
+		double[] bounds = reduce(from, to, (f, t) -> rangeBounds(boxes, f, t), SahBvhBuilder::mergeBounds);
+		BoundingBox box = new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+		double[] min = { bounds[6], bounds[7], bounds[8] };
+		double[] extent = { bounds[9] - bounds[6], bounds[10] - bounds[7], bounds[11] - bounds[8] };
+		Bins bins = reduce(from, to, (f, t) -> new Bins(boxes, f, t, min, extent), Bins::merge);
+
+		double area = box.surfaceArea();
+		double inverseArea = area > 0 ? 1 / area : 0;
+		double bestCost = Double.POSITIVE_INFINITY;
+		int bestAxis = -1;
+		int bestBin = -1;
+		double[] rightAreas = new double[binsCount];
+		int[] rightCounts = new int[binsCount];
+		double[] united = new double[6];
+		for (int axis = 0; axis < 3; ++axis) {
+			// all the centers are in the same plane - nothing to split along this axis
+			if (extent[axis] <= 0)
+				continue;
+
+			// sweep from the right to know the right side of each plane
+			emptyBounds(united, 0);
+			int rightCount = 0;
+			for (int bin = binsCount - 1; bin > 0; --bin) {
+				int index = axis * binsCount + bin;
+				includeBounds(united, 0, bins.bounds, 6 * index);
+				rightCount += bins.counts[index];
+				rightAreas[bin] = surfaceArea(united);
+				rightCounts[bin] = rightCount;
+			}
+			// sweep from the left and evaluate the plane after each bin
+			emptyBounds(united, 0);
+			int leftCount = 0;
+			for (int bin = 0; bin < binsCount - 1; ++bin) {
+				int index = axis * binsCount + bin;
+				includeBounds(united, 0, bins.bounds, 6 * index);
+				leftCount += bins.counts[index];
+				if (leftCount == 0 || rightCounts[bin + 1] == 0)
+					continue;
+				double cost = traversalCost + intersectionCost * inverseArea
+						* (surfaceArea(united) * leftCount + rightAreas[bin + 1] * rightCounts[bin + 1]);
+				if (cost < bestCost) {
+					bestCost = cost;
+					bestAxis = axis;
+					bestBin = bin;
+				}
+			}
+		}
+
+		// make a leaf if it is cheaper than any split (and the leaf isn't too big)
+		if (count <= maxLeafSize && (bestAxis < 0 || count * intersectionCost <= bestCost))
+			return new BvhNode(box, Arrays.copyOfRange(bodies, from, to));
+
+		int split = bestAxis < 0 ? from : partition(bodies, boxes, from, to, bestAxis, bestBin, min, extent);
+		// all the centers are in the same point, or the partition is degenerated due to
+		// rounding - split the range in the middle anyway
+		final int middle = split == from || split == to ? (from + to) / 2 : split;
+		return buildInParallel(box, count, //
+				() -> buildNode(bodies, boxes, from, middle), //
+				() -> buildNode(bodies, boxes, middle, to));
+	}
+
+	/**
+	 * Moves the bodies of the bins up to the given one to the beginning of the
+	 * range
+	 *
+	 * @param bodies the bodies of the hierarchy
+	 * @param boxes  the bounding boxes of the bodies
+	 * @param from   the first body of the range (inclusive)
+	 * @param to     the last body of the range (exclusive)
+	 * @param axis   the split axis
+	 * @param bin    the last bin of the left group
+	 * @param min    the minimal centers coordinates of the range
+	 * @param extent the extents of the centers of the range
+	 * @return the index of the first body of the right group
+	 */
+	private int partition(Intersectable[] bodies, BoundingBox[] boxes, int from, int to, int axis, int bin,
+			double[] min, double[] extent) {
+		int i = from;
+		int j = to - 1;
+		while (i <= j) {
+			if (binIndex(boxes[i].getCenter(axis), min[axis], extent[axis]) <= bin)
+				++i;
+			else
+				swap(bodies, boxes, i, j--);
+		}
+		return i;
+	}
+
+	/**
+	 * Calculates the bin of a body center
+	 *
+	 * @param center the coordinate of the body center
+	 * @param min    the minimal center coordinate of the range
+	 * @param extent the extent of the centers of the range
+	 * @return the index of the bin
+	 */
+	private int binIndex(double center, double min, double extent) {
+		int bin = (int) (binsCount * (center - min) / extent);
+		return bin < binsCount ? bin : binsCount - 1;
+	}
+
+	/**
+	 * Calculates the box of a range of bodies and the box of their centers
+	 *
+	 * @param boxes the bounding boxes of the bodies
+	 * @param from  the first body of the range (inclusive)
+	 * @param to    the last body of the range (exclusive)
+	 * @return the two boxes - 6 coordinates of the bodies box followed by 6
+	 *         coordinates of the centers box
+	 */
+	private static double[] rangeBounds(BoundingBox[] boxes, int from, int to) {
+		double[] bounds = new double[12];
+		emptyBounds(bounds, 0);
+		emptyBounds(bounds, 6);
+		for (int i = from; i < to; ++i) {
+			BoundingBox box = boxes[i];
+			for (int axis = 0; axis < 3; ++axis) {
+				bounds[axis] = Math.min(bounds[axis], box.getMin(axis));
+				bounds[3 + axis] = Math.max(bounds[3 + axis], box.getMax(axis));
+				double center = box.getCenter(axis);
+				bounds[6 + axis] = Math.min(bounds[6 + axis], center);
+				bounds[9 + axis] = Math.max(bounds[9 + axis], center);
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * Merges the boxes of two ranges (see
+	 * {@link #rangeBounds(BoundingBox[], int, int)})
+	 *
+	 * @param left  the boxes of the first range
+	 * @param right the boxes of the second range
+	 * @return the united boxes (in the first array)
+	 */
+	private static double[] mergeBounds(double[] left, double[] right) {
+		includeBounds(left, 0, right, 0);
+		includeBounds(left, 6, right, 6);
+		return left;
+	}
+
+	/**
+	 * Sets a box in an array to the empty box
+	 *
+	 * @param bounds the array of boxes (6 coordinates per box)
+	 * @param offset the offset of the box in the array
+	 */
+	private static void emptyBounds(double[] bounds, int offset) {
+		Arrays.fill(bounds, offset, offset + 3, Double.POSITIVE_INFINITY);
+		Arrays.fill(bounds, offset + 3, offset + 6, Double.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Enlarges a box in an array to include another box
+	 *
+	 * @param target       the array of the enlarged box
+	 * @param offset       the offset of the enlarged box
+	 * @param source       the array of the included box
+	 * @param sourceOffset the offset of the included box
+	 */
+	private static void includeBounds(double[] target, int offset, double[] source, int sourceOffset) {
+		for (int axis = 0; axis < 3; ++axis) {
+			target[offset + axis] = Math.min(target[offset + axis], source[sourceOffset + axis]);
+			target[offset + 3 + axis] = Math.max(target[offset + 3 + axis], source[sourceOffset + 3 + axis]);
+		}
+	}
+
+	/**
+	 * Calculates the surface area of a box that is kept as 6 coordinates
+	 *
+	 * @param bounds the coordinates of the box
+	 * @return the surface area (0 for the empty box)
+	 */
+	private static double surfaceArea(double[] bounds) {
+		if (bounds[0] > bounds[3])
+			return 0;
+		double dx = bounds[3] - bounds[0];
+		double dy = bounds[4] - bounds[1];
+		double dz = bounds[5] - bounds[2];
+		return 2 * (dx * dy + dy * dz + dz * dx);
+	}
+
+	/**
+	 * The bins of a range of bodies along the three axes - the amount of bodies
+	 * and the united box of each bin
+	 */
+	private final class Bins {
+		/** The amount of bodies of each bin (bins of x, then of y, then of z) */
+		private final int[] counts = new int[3 * binsCount];
+		/** The boxes of the bins - 6 coordinates per bin */
+		private final double[] bounds = new double[18 * binsCount];
+
+		/**
+		 * Distributes a range of bodies into the bins
+		 *
+		 * @param boxes  the bounding boxes of the bodies
+		 * @param from   the first body of the range (inclusive)
+		 * @param to     the last body of the range (exclusive)
+		 * @param min    the minimal centers coordinates of the whole range
+		 * @param extent the extents of the centers of the whole range
+		 */
+		private Bins(BoundingBox[] boxes, int from, int to, double[] min, double[] extent) {
+			for (int offset = 0; offset < bounds.length; offset += 6)
+				emptyBounds(bounds, offset);
+			for (int i = from; i < to; ++i) {
+				BoundingBox box = boxes[i];
+				for (int axis = 0; axis < 3; ++axis) {
+					if (extent[axis] <= 0)
+						continue;
+					int index = axis * binsCount + binIndex(box.getCenter(axis), min[axis], extent[axis]);
+					++counts[index];
+					int offset = 6 * index;
+					for (int a = 0; a < 3; ++a) {
+						bounds[offset + a] = Math.min(bounds[offset + a], box.getMin(a));
+						bounds[offset + 3 + a] = Math.max(bounds[offset + 3 + a], box.getMax(a));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the bodies of another chunk to the bins
+		 *
+		 * @param other the bins of the other chunk
+		 * @return the bins themselves
+		 */
+		private Bins merge(Bins other) {
+			for (int i = 0; i < counts.length; ++i) {
+				counts[i] += other.counts[i];
+				includeBounds(bounds, 6 * i, other.bounds, 6 * i);
+			}
+			return this;
+		}
+	}
+}
@@ -14,6 +14,9 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public class Sphere extends RadialGeometry {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The center point of sphere
 	 */
@@ -31,11 +34,57 @@ public class Sphere extends RadialGeometry {
 		this.center = center;
 	}
 
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		return new BoundingBox( //
+				center.getX() - radius, center.getY() - radius, center.getZ() - radius, //
+				center.getX() + radius, center.getY() + radius, center.getZ() + radius);
+	}
+
 	@Override
 	public Vector getNormal(Point point) {
 		return (point.subtract(center)).normalize();
 	}
 
+	/**
+	 * Creates the intersection at a distance along a ray, with the normal at the
+	 * intersection point
+	 *
+	 * @param ray the ray
+	 * @param t   the distance along the ray
+	 * @return the intersection
+	 */
+	private GeoPoint intersection(Ray ray, double t) {
+		Point point = ray.getPoint(t);
+		// the vector from the center is normalized by the radius
+		double factor = 1 / radius;
+		return new GeoPoint(this, point, t, Vector.trusted((point.getX() - center.getX()) * factor,
+				(point.getY() - center.getY()) * factor, (point.getZ() - center.getZ()) * factor));
+	}
+
+	@Override
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		Point head = ray.getHead();
+		// check if the ray starts from the center of the sphere
+		if (head.equals(center))
+			return alignZero(radius - maxDistance) >= 0 ? null : intersection(ray, radius);
+
+		// the same calculation as in findGeoIntersectionsHelper, without the list
+		double hx = center.getX() - head.getX();
+		double hy = center.getY() - head.getY();
+		double hz = center.getZ() - head.getZ();
+		double base = ray.getDir().dotProduct(hx, hy, hz);
+		double perpendicular = hx * hx + hy * hy + hz * hz - base * base;
+		if (isZero(perpendicular - squaredRadius) || perpendicular > squaredRadius)
+			return null;
+
+		double inside = Math.sqrt(squaredRadius - perpendicular);
+		double t1 = alignZero(base - inside);
+		// the first intersection is the closest one, unless it is behind the head
+		double t = t1 > 0 ? t1 : alignZero(base + inside);
+		return t <= 0 || alignZero(t - maxDistance) >= 0 ? null : intersection(ray, t);
+	}
+
 	@Override
 	public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
 		Point head = ray.getHead();
@@ -43,15 +92,18 @@ public class Sphere extends RadialGeometry {
 
 		// check if the ray starts from the center of the sphere
 		if (head.equals(center))
-			return List.of(new GeoPoint(this, ray.getPoint(radius)));
+			return alignZero(radius - maxDistance) >= 0 ? null : List.of(intersection(ray, radius));
 
 		// Identify the hypotenuse, base, and perpendicular of the triangle formed by
 		// the ray's
 		// starting point, the sphere's center, and the intersection point of the ray
 		// with the perpendicular line that pass through the sphere's center.
-		Vector hypotenuse = center.subtract(head);
-		double base = dir.dotProduct(hypotenuse);
-		double perpendicular = hypotenuse.lengthSquared() - base * base;
+		// (the hypotenuse is kept as raw coordinates - no vector is created)
+		double hx = center.getX() - head.getX();
+		double hy = center.getY() - head.getY();
+		double hz = center.getZ() - head.getZ();
+		double base = dir.dotProduct(hx, hy, hz);
+		double perpendicular = hx * hx + hy * hy + hz * hz - base * base;
 
 		// check if the ray is height to the sphere at the
 		// intersection point, or go outside the sphere.
@@ -70,9 +122,9 @@ public class Sphere extends RadialGeometry {
 		if (t2 <= 0 || alignZero(t1 - maxDistance) >= 0)
 			return null;
 		if (alignZero(t2 - maxDistance) >= 0) // t2 >= maxDistrance so use only t1
-			return t1 > 0 ? List.of(new GeoPoint(this, ray.getPoint(t1))) : null;
+			return t1 > 0 ? List.of(intersection(ray, t1)) : null;
 		return t1 > 0 //
-				? List.of(new GeoPoint(this, ray.getPoint(t1)), new GeoPoint(this, ray.getPoint(t2))) //
-				: List.of(new GeoPoint(this, ray.getPoint(t2)));
+				? List.of(intersection(ray, t1), intersection(ray, t2)) //
+				: List.of(intersection(ray, t2));
 	}
 }
\ No newline at end of file
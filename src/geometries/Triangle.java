@@ -1,6 +1,5 @@
 package geometries;
 
-import java.util.List;
 import static primitives.Util.*;
 
 import primitives.Point;
@@ -13,6 +12,21 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public class Triangle extends Polygon {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
+	/** The coordinates of the first vertex */
+	private final double x1, y1, z1;
+	/** The edge from the first vertex to the second one */
+	private final double e1x, e1y, e1z;
+	/** The edge from the first vertex to the third one */
+	private final double e2x, e2y, e2z;
+	/** The coordinates of the second vertex */
+	private final double x2, y2, z2;
+	/** The edge from the second vertex to the third one */
+	private final double e3x, e3y, e3z;
+	/** 1 / the length of the cross product of the edges (twice the area) */
+	private final double inverseArea;
 
 	/**
 	 * Constructs a new Triangle with the specified vertices. the constructor send
@@ -24,33 +38,78 @@ public class Triangle extends Polygon {
 	 */
 	public Triangle(Point p1, Point p2, Point p3) {
 		super(p1, p2, p3);
+		// the edges are kept for the intersection test of every ray
+		x1 = p1.getX();
+		y1 = p1.getY();
+		z1 = p1.getZ();
+		e1x = p2.getX() - x1;
+		e1y = p2.getY() - y1;
+		e1z = p2.getZ() - z1;
+		e2x = p3.getX() - x1;
+		e2y = p3.getY() - y1;
+		e2z = p3.getZ() - z1;
+		x2 = p2.getX();
+		y2 = p2.getY();
+		z2 = p2.getZ();
+		e3x = p3.getX() - x2;
+		e3y = p3.getY() - y2;
+		e3z = p3.getZ() - z2;
+		double nx = e1y * e2z - e1z * e2y;
+		double ny = e1z * e2x - e1x * e2z;
+		double nz = e1x * e2y - e1y * e2x;
+		inverseArea = 1 / Math.sqrt(nx * nx + ny * ny + nz * nz);
 	}
 
+	/**
+	 * Finds the intersection by the Moller-Trumbore algorithm - the barycentric
+	 * coordinates of the intersection and its distance along the ray are solved
+	 * together by Cramer's rule, without intersecting the plane first
+	 */
 	@Override
-	protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-		var intersections = plane.findGeoIntersections(ray, maxDistance);
-		if (intersections == null)
+	protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+		Vector dir = ray.getDir();
+		double dx = dir.getX(), dy = dir.getY(), dz = dir.getZ();
+		// p = dir x e2
+		double px = dy * e2z - dz * e2y;
+		double py = dz * e2x - dx * e2z;
+		double pz = dx * e2y - dy * e2x;
+		double det = e1x * px + e1y * py + e1z * pz;
+		// check if the ray is parallel to the triangle and there is no intersection -
+		// the determinant is scaled by the area, like the dot product with the normal
+		if (isZero(det * inverseArea))
 			return null;
 
-		intersections = List.of(new GeoPoint(this, intersections.get(0).point));
-		// The intersection point is inside the triangle
-		Point rayP0 = ray.getHead();
-		Vector rayDir = ray.getDir();
-		Vector v1 = vertices.get(0).subtract(rayP0);
-		Vector v2 = vertices.get(1).subtract(rayP0);
-		double t1 = alignZero(rayDir.dotProduct(v1.crossProduct(v2)));
-		// check if the ray is parallel to the triangle and there is no intersection
-		if (t1 == 0)
+		// s = the vector from the first vertex to the ray head
+		double sx = ray.getHeadX() - x1;
+		double sy = ray.getHeadY() - y1;
+		double sz = ray.getHeadZ() - z1;
+		// q = s x e1
+		double qx = sy * e1z - sz * e1y;
+		double qy = sz * e1x - sx * e1z;
+		double qz = sx * e1y - sy * e1x;
+		// the barycentric coordinates multiplied by the determinant are the triple
+		// products of the vectors to the vertices with the direction - the
+		// intersection on an edge or a vertex (a zero product) isn't inside the
+		// triangle, and inside the triangle all of them have the sign of the
+		// determinant
+		double uDet = sx * px + sy * py + sz * pz;
+		double vDet = dx * qx + dy * qy + dz * qz;
+		if (alignZero(uDet) * det <= 0 || alignZero(vDet) * det <= 0)
 			return null;
-
-		Vector v3 = vertices.get(2).subtract(rayP0);
-		double t2 = alignZero(rayDir.dotProduct(v2.crossProduct(v3)));
-		// if t1 and t2 signs are different, the intersection is not inside the triangle
-		if (t1 * t2 <= 0)
+		// the product of the first vertex is calculated from the second vertex (as
+		// v from the first one) rather than by det - uDet - vDet, which loses the
+		// precision near the third edge
+		double tx = ray.getHeadX() - x2;
+		double ty = ray.getHeadY() - y2;
+		double tz = ray.getHeadZ() - z2;
+		double wDet = dx * (ty * e3z - tz * e3y) + dy * (tz * e3x - tx * e3z) + dz * (tx * e3y - ty * e3x);
+		if (alignZero(wDet) * det <= 0)
 			return null;
 
-		double t3 = alignZero(rayDir.dotProduct(v3.crossProduct(v1)));
-		// if t1 and t2 signs are different, the intersection is not inside the triangle
-		return t1 * t3 <= 0 ? null : intersections;
+		double inverse = 1 / det;
+		double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * inverse);
+		if (t <= 0 || alignZero(maxDistance - t) <= 0)
+			return null;
+		return new GeoPoint(this, ray.getPoint(t), t, plane.getNormal()).setUV(uDet * inverse, vDet * inverse);
 	}
-}
\ No newline at end of file
+}
@@ -13,6 +13,9 @@ import primitives.Ray;
  * @author Lior &amp; Asaf
  */
 public class Tube extends RadialGeometry {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The central axis of the tube. This axis is represented as a Ray, defining the
 	 * direction and position of the tube in 3D space.
@@ -51,6 +54,11 @@ public class Tube extends RadialGeometry {
 		return p.subtract(axis.getPoint(t)).normalize();
 	}
 
+	@Override
+	protected BoundingBox calcBoundingBox() {
+		return BoundingBox.UNBOUNDED;
+	}
+
 	@Override
 	protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
 		return null;
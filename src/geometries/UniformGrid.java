@@ -0,0 +1,366 @@
+package geometries;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * A compiled uniform grid over bounded bodies. The box of the bodies is divided
+ * into equal cells, and every cell keeps the indices of the bodies whose boxes
+ * overlap it. The cells are packed into two arrays: the bodies of cell
+ * {@code c} are {@code cellBodies[cellStarts[c]..cellStarts[c + 1]-1]}.<br>
+ * A ray walks through the cells it crosses, in order, by a 3D digital
+ * differential analyzer (3D-DDA) - moving each time to the neighbor cell along
+ * the axis whose border is crossed first. A body that overlaps several cells
+ * is tested once per ray thanks to a mailbox of the walk.
+ *
+ * @see GridGeometries
+ * @author Lior &amp; Asaf
+ */
+final class UniformGrid {
+	/** The maximal amount of cells along an axis */
+	private static final int MAX_RESOLUTION = 256;
+
+	/** The compiled grid without bodies */
+	static final UniformGrid EMPTY = new UniformGrid(new Intersectable[0], 1);
+
+	/** The bodies of the grid */
+	private final Intersectable[] bodies;
+	/** The minimal coordinates of the grid box */
+	private final double[] min = new double[3];
+	/** The maximal coordinates of the grid box */
+	private final double[] max = new double[3];
+	/** The size of a cell along each axis */
+	private final double[] cellSize = new double[3];
+	/** The amount of cells along each axis */
+	private final int[] resolution = new int[3];
+	/** Per cell: the index of its first body index in {@link #cellBodies} */
+	private final int[] cellStarts;
+	/** The indices of the bodies of all the cells, cell after cell */
+	private final int[] cellBodies;
+
+	/**
+	 * The free mailboxes: the number of the last ray that tested each body. Each
+	 * ray gets a new number, so a mailbox is never cleared. A walk borrows a
+	 * mailbox and returns it, so there are as many mailboxes as concurrent walks,
+	 * rather than a mailbox per thread that is allocated again for every
+	 * short-lived virtual thread.
+	 */
+	private final ConcurrentLinkedDeque<Mailbox> mailboxes = new ConcurrentLinkedDeque<>();
+
+	/**
+	 * The last ray that tested each body, for a single walk at a time
+	 */
+	private static final class Mailbox {
+		/** The number of the last ray that tested each body */
+		private final int[] rays;
+		/** The number of the current ray */
+		private int ray = 0;
+
+		/**
+		 * Constructs an empty mailbox
+		 *
+		 * @param size the amount of bodies
+		 */
+		private Mailbox(int size) {
+			rays = new int[size];
+		}
+
+		/**
+		 * Starts a new ray
+		 *
+		 * @return the mailbox itself
+		 */
+		private Mailbox next() {
+			// after an overflow all the old numbers are forgotten
+			if (++ray == 0) {
+				Arrays.fill(rays, 0);
+				ray = 1;
+			}
+			return this;
+		}
+
+		/**
+		 * Checks whether a body wasn't tested yet by the current ray, and marks it
+		 * as tested
+		 *
+		 * @param body the index of the body
+		 * @return true if the body wasn't tested yet
+		 */
+		private boolean check(int body) {
+			if (rays[body] == ray)
+				return false;
+			rays[body] = ray;
+			return true;
+		}
+	}
+
+	/**
+	 * Builds a grid over bounded bodies. The amount of cells along the longest
+	 * axis of the box is the density multiplied by the cube root of the amount of
+	 * bodies, and the other axes get cells of about the same size.
+	 *
+	 * @param bodies  the bodies of the grid
+	 * @param density the amount of cells per cube root of the amount of bodies
+	 */
+	UniformGrid(Intersectable[] bodies, double density) {
+		this.bodies = bodies;
+		int n = bodies.length;
+		BoundingBox box = BoundingBox.EMPTY;
+		for (int i = 0; i < n; ++i)
+			box = box.union(bodies[i].getBoundingBox());
+		double longest = 0;
+		for (int axis = 0; axis < 3 && n > 0; ++axis) {
+			min[axis] = box.getMin(axis);
+			max[axis] = box.getMax(axis);
+			longest = Math.max(longest, max[axis] - min[axis]);
+		}
+		double cellsPerLength = longest > 0 ? density * Math.cbrt(n) / longest : 0;
+		int cellCount = 1;
+		for (int axis = 0; axis < 3; ++axis) {
+			double extent = max[axis] - min[axis];
+			int cells = (int) Math.round(extent * cellsPerLength);
+			resolution[axis] = Math.max(1, Math.min(MAX_RESOLUTION, cells));
+			cellSize[axis] = extent / resolution[axis];
+			cellCount *= resolution[axis];
+		}
+
+		// first pass counts the bodies of each cell, the second one fills them
+		int[][] ranges = new int[n][];
+		cellStarts = new int[cellCount + 1];
+		for (int i = 0; i < n; ++i) {
+			int[] range = ranges[i] = cellRange(bodies[i].getBoundingBox());
+			for (int z = range[2]; z <= range[5]; ++z)
+				for (int y = range[1]; y <= range[4]; ++y)
+					for (int x = range[0]; x <= range[3]; ++x)
+						++cellStarts[cellIndex(x, y, z) + 1];
+		}
+		for (int cell = 0; cell < cellCount; ++cell)
+			cellStarts[cell + 1] += cellStarts[cell];
+		cellBodies = new int[cellStarts[cellCount]];
+		int[] next = new int[cellCount];
+		System.arraycopy(cellStarts, 0, next, 0, cellCount);
+		for (int i = 0; i < n; ++i) {
+			int[] range = ranges[i];
+			for (int z = range[2]; z <= range[5]; ++z)
+				for (int y = range[1]; y <= range[4]; ++y)
+					for (int x = range[0]; x <= range[3]; ++x)
+						cellBodies[next[cellIndex(x, y, z)]++] = i;
+		}
+	}
+
+	/**
+	 * Calculates the range of cells that a box overlaps
+	 *
+	 * @param box the box
+	 * @return the minimal cell along each axis followed by the maximal cell along
+	 *         each axis
+	 */
+	private int[] cellRange(BoundingBox box) {
+		int[] range = new int[6];
+		for (int axis = 0; axis < 3; ++axis) {
+			range[axis] = cell(axis, box.getMin(axis));
+			range[3 + axis] = cell(axis, box.getMax(axis));
+		}
+		return range;
+	}
+
+	/**
+	 * Calculates the cell of a coordinate along an axis (coordinates outside the
+	 * grid are clamped to the border cells)
+	 *
+	 * @param axis       the axis
+	 * @param coordinate the coordinate
+	 * @return the index of the cell along the axis
+	 */
+	private int cell(int axis, double coordinate) {
+		if (cellSize[axis] == 0)
+			return 0;
+		int cell = (int) ((coordinate - min[axis]) / cellSize[axis]);
+		return cell < 0 ? 0 : cell < resolution[axis] ? cell : resolution[axis] - 1;
+	}
+
+	/**
+	 * Calculates the index of a cell in the packed arrays
+	 *
+	 * @param x the index of the cell along the x axis
+	 * @param y the index of the cell along the y axis
+	 * @param z the index of the cell along the z axis
+	 * @return the index of the cell
+	 */
+	private int cellIndex(int x, int y, int z) {
+		return (z * resolution[1] + y) * resolution[0] + x;
+	}
+
+	/**
+	 * The visit of a ray in a body of the grid
+	 */
+	@FunctionalInterface
+	private interface BodyVisitor {
+		/**
+		 * Tests a body that the ray reached (once per ray)
+		 *
+		 * @param body        the body
+		 * @param maxDistance the current maximum distance along the ray
+		 * @return the new maximum distance along the ray (0 to stop the walk)
+		 */
+		double visit(Intersectable body, double maxDistance);
+	}
+
+	/**
+	 * Finds all the intersections of a ray with the bodies of the grid
+	 *
+	 * @param ray              the ray to intersect
+	 * @param maxDistance      the maximum distance to find the intersections
+	 * @param intersectionList the intersections found so far (may be null)
+	 * @return the intersections found so far including the intersections with the
+	 *         grid (null if there are no intersections at all)
+	 */
+	List<GeoPoint> findIntersections(Ray ray, double maxDistance, List<GeoPoint> intersectionList) {
+		List<GeoPoint> all = intersectionList == null ? new LinkedList<>() : intersectionList;
+		walk(ray, maxDistance, (body, distance) -> {
+			var intersections = body.findGeoIntersections(ray, distance);
+			if (intersections != null)
+				all.addAll(intersections);
+			return distance;
+		});
+		return all.isEmpty() ? null : all;
+	}
+
+	/**
+	 * Finds the closest intersection of a ray with the bodies of the grid. Every
+	 * intersection shortens the walk, so it stops at the first cell whose exit is
+	 * farther than the closest intersection found so far - no later cell may
+	 * contain a closer one.
+	 *
+	 * @param ray         the ray to intersect
+	 * @param maxDistance the maximum distance to find the intersection
+	 * @return the closest intersection, or null if there is no intersection
+	 *         closer than the maximum distance
+	 */
+	GeoPoint findClosestIntersection(Ray ray, double maxDistance) {
+		GeoPoint[] closest = new GeoPoint[1];
+		walk(ray, maxDistance, (body, distance) -> {
+			GeoPoint intersection = body.findClosestGeoIntersection(ray, distance);
+			if (intersection == null)
+				return distance;
+			closest[0] = intersection;
+			return intersection.distance(ray.getHead());
+		});
+		return closest[0];
+	}
+
+	/**
+	 * Multiplies the transmittance of a ray by the transparency of the bodies of
+	 * the grid, walking through the cells until the ray is blocked
+	 *
+	 * @param ray              the ray to check
+	 * @param maxDistance      the maximum distance to find the blockers
+	 * @param transmittance    the transmittance of the blockers found so far
+	 * @param minTransmittance the transmittance that is considered as a full
+	 *                         block
+	 * @return the transmittance including the grid ({@link Double3#ZERO} if it is
+	 *         lower than the minimum)
+	 */
+	Double3 findTransmittance(Ray ray, double maxDistance, Double3 transmittance, double minTransmittance) {
+		Double3[] result = { transmittance };
+		walk(ray, maxDistance, (body, distance) -> {
+			result[0] = body.findTransmittanceHelper(ray, distance, result[0], minTransmittance);
+			return result[0].lowerThan(minTransmittance) ? 0 : distance;
+		});
+		return result[0].lowerThan(minTransmittance) ? Double3.ZERO : result[0];
+	}
+
+	/**
+	 * Walks through the cells that a ray crosses, from the nearest to the
+	 * farthest, and visits every body of the cells once. The walk ends after the
+	 * cell that contains the maximum distance (which the visitor may shorten).
+	 *
+	 * @param ray         the ray
+	 * @param maxDistance the maximum distance along the ray
+	 * @param visitor     the test of the bodies
+	 */
+	private void walk(Ray ray, double maxDistance, BodyVisitor visitor) {
+		if (bodies.length == 0)
+			return;
+		Point head = ray.getHead();
+		Vector dir = ray.getDir();
+		double[] origin = { head.getX(), head.getY(), head.getZ() };
+		double[] direction = { dir.getX(), dir.getY(), dir.getZ() };
+		double[] inverse = { ray.getInverseX(), ray.getInverseY(), ray.getInverseZ() };
+
+		// the range of the ray inside the grid box
+		double tEnter = 0;
+		double tExit = maxDistance;
+		for (int axis = 0; axis < 3; ++axis) {
+			if (direction[axis] == 0) {
+				if (origin[axis] < min[axis] || origin[axis] > max[axis])
+					return;
+				continue;
+			}
+			double t1 = (min[axis] - origin[axis]) * inverse[axis];
+			double t2 = (max[axis] - origin[axis]) * inverse[axis];
+			tEnter = Math.max(tEnter, Math.min(t1, t2));
+			tExit = Math.min(tExit, Math.max(t1, t2));
+		}
+		if (tEnter > tExit)
+			return;
+
+		// the first cell and the distances to the next borders along each axis
+		int[] cell = new int[3];
+		int[] step = new int[3];
+		double[] tNext = new double[3];
+		double[] tDelta = new double[3];
+		for (int axis = 0; axis < 3; ++axis) {
+			cell[axis] = cell(axis, origin[axis] + tEnter * direction[axis]);
+			// along an axis of a single flat cell there is no border to cross
+			if (direction[axis] > 0 && cellSize[axis] > 0) {
+				step[axis] = 1;
+				tNext[axis] = (min[axis] + (cell[axis] + 1) * cellSize[axis] - origin[axis]) * inverse[axis];
+				tDelta[axis] = cellSize[axis] * inverse[axis];
+			} else if (direction[axis] < 0 && cellSize[axis] > 0) {
+				step[axis] = -1;
+				tNext[axis] = (min[axis] + cell[axis] * cellSize[axis] - origin[axis]) * inverse[axis];
+				tDelta[axis] = -cellSize[axis] * inverse[axis];
+			} else {
+				tNext[axis] = Double.POSITIVE_INFINITY;
+			}
+		}
+
+		Mailbox mailbox = mailboxes.pollFirst();
+		if (mailbox == null)
+			mailbox = new Mailbox(bodies.length);
+		mailbox.next();
+		try {
+			while (true) {
+				int axis = tNext[0] < tNext[1] ? (tNext[0] < tNext[2] ? 0 : 2) : (tNext[1] < tNext[2] ? 1 : 2);
+				double cellExit = tNext[axis];
+				int index = cellIndex(cell[0], cell[1], cell[2]);
+				for (int i = cellStarts[index], end = cellStarts[index + 1]; i < end; ++i) {
+					int body = cellBodies[i];
+					if (!mailbox.check(body))
+						continue;
+					maxDistance = visitor.visit(bodies[body], maxDistance);
+					if (maxDistance <= 0)
+						return;
+				}
+				// a hit inside the cell is closer than anything in the next cells
+				if (cellExit >= maxDistance || cellExit >= tExit)
+					break;
+				cell[axis] += step[axis];
+				if (cell[axis] < 0 || cell[axis] >= resolution[axis])
+					break;
+				tNext[axis] += tDelta[axis];
+			}
+		} finally {
+			mailboxes.offerFirst(mailbox);
+		}
+	}
+}
@@ -12,6 +12,8 @@ import primitives.Double3;
  * @author Lior &amp; Asaf
  */
 public class AmbientLight extends Light {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** A constant representing no ambient light */
 	public static final AmbientLight NONE = new AmbientLight(Color.BLACK, Double3.ZERO);
@@ -12,6 +12,8 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public class DirectionalLight extends Light implements LightSource {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** The direction of the light */
 	private final Vector direction;
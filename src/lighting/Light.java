@@ -1,5 +1,7 @@
 package lighting;
 
+import java.io.Serializable;
+
 import primitives.Color;
 
 /**
@@ -7,7 +9,10 @@ import primitives.Color;
  * 
  * @author Lior &amp; Asaf
  */
-abstract class Light {
+abstract class Light implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** The intensity of the light */
 	protected final Color intensity;
 
@@ -13,6 +13,8 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 public class PointLight extends Light implements LightSource {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** The position of the light */
 	protected final Point position;
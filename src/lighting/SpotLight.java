@@ -11,6 +11,8 @@ import static primitives.Util.*;
  * @author Lior &amp; Asaf
  */
 public class SpotLight extends PointLight {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** The direction of the light */
 	private final Vector direction;
@@ -1,5 +1,9 @@
 package primitives;
 
+import static primitives.Util.isZero;
+
+import java.io.Serializable;
+
 /**
  * Wrapper class for java.jwt.Color The constructors operate with any
  * non-negative RGB values. The colors are maintained without upper limit of
@@ -8,19 +12,27 @@ package primitives;
  * 
  * @author Dan Zilberstein
  */
-public class Color {
+public class Color implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The internal fields maintain RGB components as double numbers from 0 to
-	 * whatever...
+	 * whatever... This is the Red component (the components are raw doubles, so
+	 * an operation allocates a single object).
 	 */
-	private final Double3 rgb;
+	private final double r;
+	/** The Green component */
+	private final double g;
+	/** The Blue component */
+	private final double b;
 
 	/** Black color = (0,0,0) */
 	public static final Color BLACK = new Color();
 
 	/** Default constructor - to generate Black Color (privately) */
 	private Color() {
-		rgb = Double3.ZERO;
+		r = g = b = 0;
 	}
 
 	/**
@@ -34,19 +46,9 @@ public class Color {
 	public Color(double r, double g, double b) {
 		if (r < 0 || g < 0 || b < 0)
 			throw new IllegalArgumentException("Negative color component is illegal");
-		rgb = new Double3(r, g, b);
-	}
-
-	/**
-	 * Constructor to generate a color according to RGB components Each component in
-	 * range 0..255 (for printed white color) or more [for lights]
-	 * 
-	 * @param rgb triad of Red/Green/Blue components
-	 */
-	private Color(Double3 rgb) {
-		if (rgb.d1 < 0 || rgb.d2 < 0 || rgb.d3 < 0)
-			throw new IllegalArgumentException("Negative color component is illegal");
-		this.rgb = rgb;
+		this.r = r;
+		this.g = g;
+		this.b = b;
 	}
 
 	/**
@@ -55,7 +57,9 @@ public class Color {
 	 * @param other java.awt.Color's source object
 	 */
 	public Color(java.awt.Color other) {
-		rgb = new Double3(other.getRed(), other.getGreen(), other.getBlue());
+		r = other.getRed();
+		g = other.getGreen();
+		b = other.getBlue();
 	}
 
 	/**
@@ -65,12 +69,50 @@ public class Color {
 	 * @return java.awt.Color object based on this Color RGB components
 	 */
 	public java.awt.Color getColor() {
-		int ir = (int) rgb.d1;
-		int ig = (int) rgb.d2;
-		int ib = (int) rgb.d3;
+		int ir = (int) r;
+		int ig = (int) g;
+		int ib = (int) b;
 		return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
 	}
 
+	/**
+	 * Red component getter - without the upper limit of 255
+	 * 
+	 * @return the Red component
+	 */
+	public double getRed() {
+		return r;
+	}
+
+	/**
+	 * Green component getter - without the upper limit of 255
+	 * 
+	 * @return the Green component
+	 */
+	public double getGreen() {
+		return g;
+	}
+
+	/**
+	 * Blue component getter - without the upper limit of 255
+	 * 
+	 * @return the Blue component
+	 */
+	public double getBlue() {
+		return b;
+	}
+
+	/**
+	 * Operation of adding this and another color (by component) - without the
+	 * array of {@link #add(Color...)}
+	 * 
+	 * @param color the other color to add
+	 * @return new Color object which is a result of the operation
+	 */
+	public Color add(Color color) {
+		return new Color(r + color.r, g + color.g, b + color.b);
+	}
+
 	/**
 	 * Operation of adding this and one or more other colors (by component)
 	 * 
@@ -78,13 +120,13 @@ public class Color {
 	 * @return new Color object which is a result of the operation
 	 */
 	public Color add(Color... colors) {
-		double rr = rgb.d1;
-		double rg = rgb.d2;
-		double rb = rgb.d3;
+		double rr = r;
+		double rg = g;
+		double rb = b;
 		for (Color c : colors) {
-			rr += c.rgb.d1;
-			rg += c.rgb.d2;
-			rb += c.rgb.d3;
+			rr += c.r;
+			rg += c.g;
+			rb += c.b;
 		}
 		return new Color(rr, rg, rb);
 	}
@@ -98,7 +140,7 @@ public class Color {
 	public Color scale(Double3 k) {
 		if (k.d1 < 0.0 || k.d2 < 0.0 || k.d3 < 0.0)
 			throw new IllegalArgumentException("Can't scale a color by a negative number");
-		return new Color(rgb.product(k));
+		return new Color(r * k.d1, g * k.d2, b * k.d3);
 	}
 
 	/**
@@ -110,7 +152,7 @@ public class Color {
 	public Color scale(double k) {
 		if (k < 0.0)
 			throw new IllegalArgumentException("Can't scale a color by a negative number");
-		return new Color(rgb.scale(k));
+		return new Color(r * k, g * k, b * k);
 	}
 
 	/**
@@ -122,18 +164,19 @@ public class Color {
 	public Color reduce(int k) {
 		if (k < 1)
 			throw new IllegalArgumentException("Can't scale a color by a by a number lower than 1");
-		return new Color(rgb.reduce(k));
+		return new Color(r / k, g / k, b / k);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		return (obj instanceof Color other) && rgb.equals(other.rgb);
+		return (obj instanceof Color other) && isZero(r - other.r) && isZero(g - other.g)
+				&& isZero(b - other.b);
 	}
 
 	@Override
 	public String toString() {
-		return "rgb:" + rgb;
+		return "rgb:(" + r + "," + g + "," + b + ")";
 	}
 }
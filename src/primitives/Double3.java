@@ -5,12 +5,17 @@ package primitives;
 
 import static primitives.Util.isZero;
 
+import java.io.Serializable;
+
 /**
  * This class will serve all primitive classes based on three numbers
  * 
  * @author Dan Zilberstein
  */
-public class Double3 {
+public class Double3 implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** First number */
 	final double d1;
 	/** Second number */
@@ -48,6 +53,33 @@ public class Double3 {
 		this.d3 = value;
 	}
 
+	/**
+	 * First number getter
+	 * 
+	 * @return the first number
+	 */
+	public double getD1() {
+		return d1;
+	}
+
+	/**
+	 * Second number getter
+	 * 
+	 * @return the second number
+	 */
+	public double getD2() {
+		return d2;
+	}
+
+	/**
+	 * Third number getter
+	 * 
+	 * @return the third number
+	 */
+	public double getD3() {
+		return d3;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
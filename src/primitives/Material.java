@@ -1,12 +1,17 @@
 package primitives;
 
+import java.io.Serializable;
+
 /**
  * Class representing a material with diffuse and specular reflection
  * coefficients and shininess.
  * 
  * @author Lior &amp; Asaf
  */
-public class Material {
+public class Material implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** The diffuse coefficient of the material */
 	public Double3 kD = Double3.ZERO;
 
@@ -1,16 +1,27 @@
 package primitives;
 
+import static primitives.Util.isZero;
+
+import java.io.Serializable;
+
 /**
  * The Point class represents a point in three-dimensional space.
  * 
  * @author Lior &amp; Asaf
  */
-public class Point {
+public class Point implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
-	 * The coordinates of the point in 3D space. This is represented by a Double3
-	 * object, which contains the x, y, z coordinates.
+	 * The x-coordinate of the point. The coordinates are kept as raw doubles
+	 * (not as a {@link Double3}), so creating a point allocates a single object.
 	 */
-	protected final Double3 xyz;
+	protected final double x;
+	/** The y-coordinate of the point. */
+	protected final double y;
+	/** The z-coordinate of the point. */
+	protected final double z;
 
 	/**
 	 * A constant representing the origin point (0, 0, 0) in 3D space.
@@ -23,7 +34,7 @@ public class Point {
 	 * @param xyz The coordinates of the point.
 	 */
 	public Point(Double3 xyz) {
-		this.xyz = xyz;
+		this(xyz.d1, xyz.d2, xyz.d3);
 	}
 
 	/**
@@ -34,7 +45,38 @@ public class Point {
 	 * @param z The z-coordinate of the point.
 	 */
 	public Point(double x, double y, double z) {
-		this.xyz = new Double3(x, y, z);
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	// getters:
+
+	/**
+	 * Returns the x-coordinate of the point.
+	 *
+	 * @return the x-coordinate of the point
+	 */
+	public double getX() {
+		return x;
+	}
+
+	/**
+	 * Returns the y-coordinate of the point.
+	 *
+	 * @return the y-coordinate of the point
+	 */
+	public double getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the z-coordinate of the point.
+	 *
+	 * @return the z-coordinate of the point
+	 */
+	public double getZ() {
+		return z;
 	}
 
 	/**
@@ -47,7 +89,18 @@ public class Point {
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		return (obj instanceof Point other) && this.xyz.equals(other.xyz);
+		return (obj instanceof Point other) && coordinatesEqual(other);
+	}
+
+	/**
+	 * Checks whether the coordinates of two points are [almost] equal
+	 * 
+	 * @param other the other point (or vector)
+	 * @return true if all the coordinates are equal up to the accuracy of
+	 *         {@link Util#isZero(double)}
+	 */
+	protected boolean coordinatesEqual(Point other) {
+		return isZero(x - other.x) && isZero(y - other.y) && isZero(z - other.z);
 	}
 
 	/**
@@ -57,7 +110,7 @@ public class Point {
 	 */
 	@Override
 	public String toString() {
-		return "" + xyz;
+		return "(" + x + "," + y + "," + z + ")";
 	}
 
 	/**
@@ -67,10 +120,7 @@ public class Point {
 	 * @return A new point which is the result of adding the vector to this point.
 	 */
 	public Point add(primitives.Vector vec) {
-		return new Point( //
-				xyz.d1 + vec.xyz.d1, //
-				xyz.d2 + vec.xyz.d2, //
-				xyz.d3 + vec.xyz.d3);
+		return new Point(x + vec.x, y + vec.y, z + vec.z);
 	}
 
 	/**
@@ -82,7 +132,7 @@ public class Point {
 	 *         this point.
 	 */
 	public Vector subtract(Point p) {
-		return new Vector(xyz.d1 - p.xyz.d1, xyz.d2 - p.xyz.d2, xyz.d3 - p.xyz.d3);
+		return new Vector(x - p.x, y - p.y, z - p.z);
 	}
 
 	/**
@@ -92,9 +142,22 @@ public class Point {
 	 * @return The squared distance between this point and the other point.
 	 */
 	public double distanceSquared(Point p) {
-		double dx = xyz.d1 - p.xyz.d1;
-		double dy = xyz.d2 - p.xyz.d2;
-		double dz = xyz.d3 - p.xyz.d3;
+		return distanceSquared(p.x, p.y, p.z);
+	}
+
+	/**
+	 * Computes the squared distance between this point and a point that is given
+	 * by its coordinates (without creating it)
+	 * 
+	 * @param px the x-coordinate of the other point
+	 * @param py the y-coordinate of the other point
+	 * @param pz the z-coordinate of the other point
+	 * @return The squared distance between this point and the other point.
+	 */
+	public double distanceSquared(double px, double py, double pz) {
+		double dx = x - px;
+		double dy = y - py;
+		double dz = z - pz;
 		return dx * dx + dy * dy + dz * dz;
 	}
 
@@ -116,6 +179,6 @@ public class Point {
 	 * @return the middle point of the new square
 	 */
 	public Point newMiddle(Point p) {
-		return new Point((this.xyz.add(p.xyz)).scale(0.5));
+		return new Point((x + p.x) * 0.5, (y + p.y) * 0.5, (z + p.z) * 0.5);
 	}
 }
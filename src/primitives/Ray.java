@@ -1,6 +1,7 @@
 package primitives;
 
 import static geometries.Intersectable.GeoPoint;
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -9,7 +10,10 @@ import java.util.List;
  * 
  * @author Lior &amp; Asaf
  */
-public class Ray {
+public class Ray implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** The constant value used to determine the accuracy of the calculations. */
 	public static final double DELTA = 0.00001;
 
@@ -19,6 +23,13 @@ public class Ray {
 	/** The direction vector of the ray. */
 	protected final Vector direction;
 
+	/** The coordinates of the starting point */
+	private final double headX, headY, headZ;
+	/** The reciprocals of the direction components (infinite for a 0 component) */
+	private final double inverseX, inverseY, inverseZ;
+	/** The octant of the direction - a bit for every negative axis (x - 1, y - 2, z - 4) */
+	private final int octant;
+
 	/**
 	 * Constructs a new Ray with the specified head and direction.
 	 *
@@ -26,8 +37,41 @@ public class Ray {
 	 * @param direction the direction vector of the ray
 	 */
 	public Ray(Point head, Vector direction) {
+		this(direction.normalize(), head);
+	}
+
+	/**
+	 * Constructs a new Ray with the specified normalized direction and head - the
+	 * other constructors and {@link #normalized(Point, Vector)} end here
+	 *
+	 * @param direction the direction vector of the ray - <b><i>must be
+	 *                  normalized</i></b>
+	 * @param head      the starting point of the ray
+	 */
+	private Ray(Vector direction, Point head) {
 		this.head = head;
-		this.direction = direction.normalize();
+		this.direction = direction;
+		// the traversal of the acceleration structures uses them for every node
+		headX = head.x;
+		headY = head.y;
+		headZ = head.z;
+		inverseX = 1 / direction.x;
+		inverseY = 1 / direction.y;
+		inverseZ = 1 / direction.z;
+		octant = (inverseX < 0 ? 1 : 0) | (inverseY < 0 ? 2 : 0) | (inverseZ < 0 ? 4 : 0);
+	}
+
+	/**
+	 * Creates a ray whose direction is normalized already - the direction isn't
+	 * normalized again (as by {@link #Ray(Point, Vector)})
+	 *
+	 * @param head      the starting point of the ray
+	 * @param direction the direction vector of the ray - <b><i>must be
+	 *                  normalized</i></b>
+	 * @return the ray
+	 */
+	public static Ray normalized(Point head, Vector direction) {
+		return new Ray(direction, head);
 	}
 
 	/**
@@ -40,8 +84,22 @@ public class Ray {
 	 * @param normal    the normal along which to move the origin point
 	 */
 	public Ray(Point head, Vector direction, Vector normal) {
-		this.direction = direction;
-		this.head = head.add(normal.scale(this.direction.dotProduct(normal) < 0 ? -DELTA : DELTA));
+		this(direction, offset(head, direction, normal));
+	}
+
+	/**
+	 * Moves the origin of a ray a short distance along a normal, to the side of
+	 * the direction
+	 *
+	 * @param head      the original point
+	 * @param direction the direction vector of the ray
+	 * @param normal    the normal along which to move the origin point
+	 * @return the moved point
+	 */
+	private static Point offset(Point head, Vector direction, Vector normal) {
+		// the origin is moved without creating the scaled normal
+		double delta = direction.dotProduct(normal) < 0 ? -DELTA : DELTA;
+		return new Point(head.x + normal.x * delta, head.y + normal.y * delta, head.z + normal.z * delta);
 	}
 
 	// getters:
@@ -64,11 +122,88 @@ public class Ray {
 		return head;
 	}
 
+	/**
+	 * Returns the x coordinate of the starting point
+	 *
+	 * @return the x coordinate
+	 */
+	public double getHeadX() {
+		return headX;
+	}
+
+	/**
+	 * Returns the y coordinate of the starting point
+	 *
+	 * @return the y coordinate
+	 */
+	public double getHeadY() {
+		return headY;
+	}
+
+	/**
+	 * Returns the z coordinate of the starting point
+	 *
+	 * @return the z coordinate
+	 */
+	public double getHeadZ() {
+		return headZ;
+	}
+
+	/**
+	 * Returns the reciprocal of the x component of the direction
+	 *
+	 * @return 1 / x (infinite if x is 0)
+	 */
+	public double getInverseX() {
+		return inverseX;
+	}
+
+	/**
+	 * Returns the reciprocal of the y component of the direction
+	 *
+	 * @return 1 / y (infinite if y is 0)
+	 */
+	public double getInverseY() {
+		return inverseY;
+	}
+
+	/**
+	 * Returns the reciprocal of the z component of the direction
+	 *
+	 * @return 1 / z (infinite if z is 0)
+	 */
+	public double getInverseZ() {
+		return inverseZ;
+	}
+
+	/**
+	 * Returns the octant of the direction - a bit for every axis along which the
+	 * direction is negative (x - 1, y - 2, z - 4). A 0 component counts by its
+	 * sign (-0 is negative)
+	 *
+	 * @return the octant (0 to 7)
+	 */
+	public int getOctant() {
+		return octant;
+	}
+
+	/**
+	 * Checks whether the direction is negative along an axis (see
+	 * {@link #getOctant()})
+	 *
+	 * @param axis the axis (0 - x, 1 - y, 2 - z)
+	 * @return true if the direction is negative along the axis
+	 */
+	public boolean isNegative(int axis) {
+		return (octant >> axis & 1) != 0;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		return (obj instanceof Ray other) && this.head.equals(other.head) && this.direction.equals(other.direction);
+		return (obj instanceof Ray other) && this.head.coordinatesEqual(other.head)
+				&& this.direction.coordinatesEqual(other.direction);
 	}
 
 	@Override
@@ -83,11 +218,8 @@ public class Ray {
 	 * @return the wanted point
 	 */
 	public Point getPoint(double t) {
-		try {
-			return head.add(direction.scale(t));
-		} catch (IllegalArgumentException e) {
-			return head;
-		}
+		// without the intermediate scaled vector
+		return new Point(head.x + direction.x * t, head.y + direction.y * t, head.z + direction.z * t);
 	}
 
 	/**
@@ -114,7 +246,8 @@ public class Ray {
 		GeoPoint closest = null;
 		double minDistance = Double.POSITIVE_INFINITY;
 		for (GeoPoint point : intersections) {
-			double calcDistance = point.point.distanceSquared(head);
+			// the distance that the geometry kept is compared without a calculation
+			double calcDistance = Double.isNaN(point.t) ? point.point.distanceSquared(head) : point.t * point.t;
 			if (calcDistance < minDistance) {
 				closest = point;
 				minDistance = calcDistance;
@@ -1,5 +1,7 @@
 package primitives;
 
+import static primitives.Util.isZero;
+
 /**
  * The Vector class represents a vector in 3D space, defined by its coordinates.
  * It extends the Point class and adds vector-specific operations such as vector
@@ -8,6 +10,8 @@ package primitives;
  * @author Lior &amp; Asaf
  */
 public class Vector extends Point {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** Vector in Y axis */
 	public static final Vector Y = new Vector(0, 1, 0);
@@ -24,11 +28,40 @@ public class Vector extends Point {
 	 * @throws IllegalArgumentException if the input vector is a zero vector.
 	 */
 	public Vector(double x, double y, double z) {
+		this(x, y, z, true);
+	}
+
+	/**
+	 * Constructs a new Vector with the specified coordinates, optionally without
+	 * the zero vector check
+	 *
+	 * @param x       The x-coordinate of the vector.
+	 * @param y       The y-coordinate of the vector.
+	 * @param z       The z-coordinate of the vector.
+	 * @param checked whether to check that the vector isn't the zero vector
+	 * @throws IllegalArgumentException if the checked vector is a zero vector.
+	 */
+	private Vector(double x, double y, double z, boolean checked) {
 		super(x, y, z);
-		if (xyz.equals(Double3.ZERO))
+		if (checked && isZero(x) && isZero(y) && isZero(z))
 			throw new IllegalArgumentException("You enterd a zero vector!");
 	}
 
+	/**
+	 * Trusted factory of a vector that is known not to be the zero vector (a
+	 * unit vector, for example) - it skips the zero vector check of the
+	 * constructors, so it must be used only for internal results that are
+	 * provably not zero.
+	 *
+	 * @param x The x-coordinate of the vector.
+	 * @param y The y-coordinate of the vector.
+	 * @param z The z-coordinate of the vector.
+	 * @return the vector (not checked)
+	 */
+	public static Vector trusted(double x, double y, double z) {
+		return new Vector(x, y, z, false);
+	}
+
 	/**
 	 * Constructs a new Vector from a Double3 object.
 	 *
@@ -37,7 +70,7 @@ public class Vector extends Point {
 	 */
 	public Vector(Double3 newD) {
 		super(newD);
-		if (newD.equals(Double3.ZERO))
+		if (isZero(x) && isZero(y) && isZero(z))
 			throw new IllegalArgumentException("You enterd a zero vector!");
 	}
 
@@ -45,7 +78,7 @@ public class Vector extends Point {
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		return (obj instanceof Vector other) && this.xyz.equals(other.xyz);
+		return (obj instanceof Vector other) && coordinatesEqual(other);
 	}
 
 	/**
@@ -64,7 +97,7 @@ public class Vector extends Point {
 	 * @return The squared length of this vector.
 	 */
 	public double lengthSquared() {
-		return (xyz.d1 * xyz.d1 + xyz.d2 * xyz.d2 + xyz.d3 * xyz.d3);
+		return (x * x + y * y + z * z);
 	}
 
 	/**
@@ -84,7 +117,7 @@ public class Vector extends Point {
 	 *         vector.
 	 */
 	public Vector add(Vector vec) {
-		return new Vector(xyz.d1 + vec.xyz.d1, xyz.d2 + vec.xyz.d2, xyz.d3 + vec.xyz.d3);
+		return new Vector(x + vec.x, y + vec.y, z + vec.z);
 	}
 
 	/**
@@ -95,7 +128,7 @@ public class Vector extends Point {
 	 *         factor.
 	 */
 	public Vector scale(double num) {
-		return new Vector(xyz.d1 * num, xyz.d2 * num, xyz.d3 * num);
+		return new Vector(x * num, y * num, z * num);
 	}
 
 	/**
@@ -105,7 +138,20 @@ public class Vector extends Point {
 	 * @return A new vector which is the result of the dot product operation.
 	 */
 	public double dotProduct(Vector vec) {
-		return (xyz.d1 * vec.xyz.d1 + xyz.d2 * vec.xyz.d2 + xyz.d3 * vec.xyz.d3);
+		return (x * vec.x + y * vec.y + z * vec.z);
+	}
+
+	/**
+	 * Calculate the dot product of this vector with a vector that is given by its
+	 * coordinates (without creating it)
+	 * 
+	 * @param vx the x-coordinate of the other vector
+	 * @param vy the y-coordinate of the other vector
+	 * @param vz the z-coordinate of the other vector
+	 * @return the dot product
+	 */
+	public double dotProduct(double vx, double vy, double vz) {
+		return x * vx + y * vy + z * vz;
 	}
 
 	/**
@@ -116,9 +162,9 @@ public class Vector extends Point {
 	 */
 	public Vector crossProduct(Vector vec) {
 		return new Vector(//
-				xyz.d2 * vec.xyz.d3 - xyz.d3 * vec.xyz.d2, //
-				xyz.d3 * vec.xyz.d1 - xyz.d1 * vec.xyz.d3, //
-				xyz.d1 * vec.xyz.d2 - xyz.d2 * vec.xyz.d1);
+				y * vec.z - z * vec.y, //
+				z * vec.x - x * vec.z, //
+				x * vec.y - y * vec.x);
 	}
 
 	/**
@@ -128,7 +174,9 @@ public class Vector extends Point {
 	 *         length of 1.
 	 */
 	public Vector normalize() {
-		return scale(1 / length());
+		// a non-zero vector stays non-zero, so the result isn't checked
+		double factor = 1 / length();
+		return new Vector(x * factor, y * factor, z * factor, false);
 	}
 
 	/**
@@ -139,6 +187,7 @@ public class Vector extends Point {
 	 * @return the resulting vector
 	 */
 	public Vector mirror(Vector n, double nl) {
-		return this.subtract(n.scale(nl * 2));
+		double factor = nl * 2;
+		return new Vector(x - n.x * factor, y - n.y * factor, z - n.z * factor);
 	}
 }
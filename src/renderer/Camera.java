@@ -4,11 +4,18 @@ import primitives.*;
 
 import static primitives.Util.*;
 import static java.lang.Math.*;
+import java.awt.Rectangle;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Represents a camera with position and direction vectors. The class
@@ -19,7 +26,10 @@ import java.util.MissingResourceException;
  * 
  * @author Lior &amp; Asaf
  */
-public class Camera implements Cloneable {
+public class Camera implements Cloneable, Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** The position of the camera. */
 	private Point location;
 
@@ -42,7 +52,7 @@ public class Camera implements Cloneable {
 	private double distance = 0.0;
 
 	/** The image writer for outputting the image. */
-	private ImageWriter imageWriter;
+	private transient ImageWriter imageWriter;
 
 	/** The ray tracer for tracing rays in the scene. */
 	private RayTracerBase rayTracer;
@@ -65,6 +75,30 @@ public class Camera implements Cloneable {
 	/** printing progress percentage interval */
 	private double printInterval = 0;
 
+	/** the side of the square tiles that the threads render (0 - batches of pixels) */
+	private int tileSize = 16;
+
+	/** the listener of the passes of a progressive rendering (null - not progressive) */
+	private transient ObjIntConsumer<ImageWriter> passListener = null;
+
+	/** whether the rendering threads are virtual threads */
+	private boolean virtualThreads = false;
+
+	/** the pool that renders the tiles (null - a new pool for every rendering) */
+	private transient ForkJoinPool renderPool = null;
+
+	/** timing statistics of the last rendering */
+	private transient RenderStatistics statistics = null;
+
+	/** the checkpoint file of the rendering (null - no checkpoints) */
+	private transient Path checkpointFile = null;
+
+	/** the minimal time between checkpoints in milliseconds */
+	private long checkpointInterval = 0;
+
+	/** whether the rendering resumes from the checkpoint file */
+	private boolean resume = false;
+
 	/** default constructor */
 	private Camera() {
 	}
@@ -142,6 +176,16 @@ public class Camera implements Cloneable {
 		return imageWriter;
 	}
 
+	/**
+	 * Gets the timing statistics of the last rendering.
+	 * 
+	 * @return the statistics of the last rendering (null if there was no
+	 *         rendering yet).
+	 */
+	public RenderStatistics getStatistics() {
+		return statistics;
+	}
+
 	/**
 	 * Returns a new instance of the Builder for creating a Camera object.
 	 * 
@@ -162,18 +206,17 @@ public class Camera implements Cloneable {
 	 * @return resulting Ray
 	 */
 	public Ray constructRay(int nX, int nY, int j, int i) {
-		Point pIJ = location.add(vTo.scale(distance));
-
 		// Calculate distance on x,y axes to the designated point
 		double yI = (((nY - 1) / 2.0) - i) * (height / nY);
 		double xJ = -(((nX - 1) / 2.0) - j) * (width / nX);
 
-		// Avoiding creation of zero vector (which is unnecessary anyway)
-		if (!isZero(xJ))
-			pIJ = pIJ.add(vRight.scale(xJ));
-		if (!isZero(yI))
-			pIJ = pIJ.add(vUp.scale(yI));
-		return new Ray(location, pIJ.subtract(location));
+		// the direction from the location to the pixel, without intermediate vectors
+		double dx = vTo.getX() * distance + vRight.getX() * xJ + vUp.getX() * yI;
+		double dy = vTo.getY() * distance + vRight.getY() * xJ + vUp.getY() * yI;
+		double dz = vTo.getZ() * distance + vRight.getZ() * xJ + vUp.getZ() * yI;
+		// the direction has the component vTo * distance, so it is never zero
+		double factor = 1 / Math.sqrt(dx * dx + dy * dy + dz * dz);
+		return Ray.normalized(location, Vector.trusted(dx * factor, dy * factor, dz * factor));
 	}
 
 	/**
@@ -186,16 +229,13 @@ public class Camera implements Cloneable {
 	 * @return resulting Ray
 	 */
 	public Point findPixel(int nX, int nY, int j, int i) {
-		Point pIJ = location.add(vTo.scale(distance));
 		// Calculate distance on x,y axes to the designated point
 		double yI = (((nY - 1) / 2.0) - i) * (height / nY);
 		double xJ = -(((nX - 1) / 2.0) - j) * (width / nX);
-		// Avoiding creation of zero vector (which is unnecessary anyway)
-		if (!isZero(xJ))
-			pIJ = pIJ.add(vRight.scale(xJ));
-		if (!isZero(yI))
-			pIJ = pIJ.add(vUp.scale(yI));
-		return pIJ;
+		return new Point( //
+				location.getX() + vTo.getX() * distance + vRight.getX() * xJ + vUp.getX() * yI, //
+				location.getY() + vTo.getY() * distance + vRight.getY() * xJ + vUp.getY() * yI, //
+				location.getZ() + vTo.getZ() * distance + vRight.getZ() * xJ + vUp.getZ() * yI);
 	}
 
 	/**
@@ -205,44 +245,333 @@ public class Camera implements Cloneable {
 	 * 
 	 * If the number of threads is 0, the method will run in a single thread. <br>
 	 * If the number of threads is -1, the method will run in parallel using the
-	 * range function. <br>
+	 * range function - a parallel stream over the tiles (or the rows) on the
+	 * common pool (or on the {@link Builder#setRenderPool(ForkJoinPool) render
+	 * pool}). <br>
 	 * If the number of threads is -2, the method will run in parallel using all
 	 * available processors.<br>
+	 * The threads render the image in square tiles (see
+	 * {@link Builder#setTileSize(int)}).<br>
+	 * A progressive rendering (see {@link Builder#setProgressive}) renders the
+	 * image in several passes of growing amounts of samples.<br>
+	 * Before the rendering, the scene is prepared (its acceleration structures are
+	 * built) with the same amount of threads. The times of both stages are kept
+	 * in the {@link #getStatistics() statistics}.
 	 * 
 	 * @return the camera instance (this) to allow method chaining.
 	 * @throws IllegalStateException if the image writer or ray tracer is not set.
 	 */
 	public Camera renderImage() {
+		return renderImage(createRenderJob());
+	}
+
+	/**
+	 * Creates a new job for rendering the image of the camera - the job may be
+	 * {@link RenderJob#cancel() cancelled} from another thread while it is
+	 * rendered by {@link #renderImage(RenderJob)}
+	 * 
+	 * @return the render job
+	 */
+	public RenderJob createRenderJob() {
+		return new RenderJob(imageWriter.getNx(), imageWriter.getNy(), printInterval);
+	}
+
+	/**
+	 * Creates a new job for rendering only some rectangular regions of the image
+	 * (see {@link #createRenderJob()}) - the other pixels of the image writer are
+	 * left as they are, so a change of a part of the scene may be re-rendered in
+	 * a time that is proportional to the changed region. The regions are clipped
+	 * by the image borders, and a pixel of overlapping regions is rendered once
+	 * for each region.
+	 * 
+	 * @param regions the rendered regions (x is the column and y is the row of
+	 *                the first pixel)
+	 * @return the render job
+	 */
+	public RenderJob createRenderJob(Rectangle... regions) {
+		int nX = imageWriter.getNx();
+		int nY = imageWriter.getNy();
+		TileScheduler.Tile image = new TileScheduler.Tile(0, 0, nX, nY);
+		List<TileScheduler.Tile> clipped = new LinkedList<>();
+		for (Rectangle region : regions) {
+			TileScheduler.Tile tile = image
+					.intersect(new TileScheduler.Tile(region.x, region.y, region.width, region.height));
+			if (tile != null)
+				clipped.add(tile);
+		}
+		return new RenderJob(nX, nY, printInterval, List.copyOf(clipped));
+	}
+
+	/**
+	 * Renders only some rectangular regions of the image (see
+	 * {@link #createRenderJob(Rectangle...)})
+	 * 
+	 * @param regions the rendered regions (x is the column and y is the row of
+	 *                the first pixel)
+	 * @return the camera instance (this) to allow method chaining.
+	 */
+	public Camera renderImage(Rectangle... regions) {
+		return renderImage(createRenderJob(regions));
+	}
+
+	/**
+	 * Renders the image of a render job (see {@link #renderImage()}). The job
+	 * keeps all the state of the rendering, so several jobs may be rendered at the
+	 * same time. If the job is cancelled, the method returns after the started
+	 * pixels are finished.
+	 * 
+	 * @param job the render job (created by {@link #createRenderJob()})
+	 * @return the camera instance (this) to allow method chaining.
+	 * @throws IllegalArgumentException if the job resolution differs from the
+	 *                                  image resolution
+	 * @throws IllegalStateException    if the job was already rendered
+	 */
+	public Camera renderImage(RenderJob job) {
 		int nY = imageWriter.getNy();
 		int nX = imageWriter.getNx();
-		Pixel.initialize(nY, nX, printInterval);
+		if (job.getNx() != nX || job.getNy() != nY)
+			throw new IllegalArgumentException("The render job doesn't match the image resolution");
+		job.start();
+		Checkpoint checkpoint = checkpointFile == null ? null
+				: new Checkpoint(checkpointFile, checkpointInterval, job, imageWriter);
+		try {
+			if (checkpoint != null && resume)
+				checkpoint.load();
+			long start = System.nanoTime();
+			rayTracer.prepareScene(threadsCount == 0 ? 1
+					: threadsCount == -1 ? Runtime.getRuntime().availableProcessors() : threadsCount);
+			long built = System.nanoTime();
 
-		// if we don't have threads at all - continue normally
+			try {
+				if (passListener == null)
+					renderPixels(job, (j, i) -> castRay(nX, nY, j, i), checkpoint);
+				else
+					renderProgressive(job, checkpoint);
+			} finally {
+				// the finished tiles are kept also after a cancellation or a failure
+				if (checkpoint != null)
+					checkpoint.save();
+			}
+			statistics = new RenderStatistics(built - start, System.nanoTime() - built);
+		} catch (RuntimeException | Error e) {
+			job.fail(e);
+			throw e;
+		}
+		job.finish(statistics);
+		return this;
+	}
+
+	/**
+	 * Renders the image of a new render job in the background (see
+	 * {@link #renderImageAsync(RenderJob)})
+	 * 
+	 * @return the render job - the handle of the rendering
+	 */
+	public RenderJob renderImageAsync() {
+		return renderImageAsync(createRenderJob());
+	}
+
+	/**
+	 * Renders the image of a render job in a background thread, and returns
+	 * immediately. The job is the handle of the rendering: it may be awaited,
+	 * cancelled (or limited in time by {@link RenderJob#setTimeLimit(long)}), and
+	 * its progress may be watched. After the job is done, the image (complete or
+	 * partial) may be written by {@link #writeToImage()}.
+	 * 
+	 * @param job the render job (created by {@link #createRenderJob()})
+	 * @return the render job
+	 * @throws IllegalArgumentException if the job resolution differs from the
+	 *                                  image resolution
+	 */
+	public RenderJob renderImageAsync(RenderJob job) {
+		if (job.getNx() != imageWriter.getNx() || job.getNy() != imageWriter.getNy())
+			throw new IllegalArgumentException("The render job doesn't match the image resolution");
+		Thread.ofPlatform().name("render").start(() -> {
+			try {
+				renderImage(job);
+			} catch (RuntimeException ignore) {
+				// the failure is kept in the job
+			}
+		});
+		return job;
+	}
+
+	/**
+	 * Casts the rays through all the pixels, according to the number of threads
+	 * 
+	 * @param job        the render job
+	 * @param action     the rendering of a single pixel
+	 * @param checkpoint the checkpoint of the finished tiles (null - none)
+	 */
+	private void renderPixels(RenderJob job, PixelAction action, Checkpoint checkpoint) {
+		Consumer<TileScheduler.Tile> renderTile = tile -> {
+			// the tiles of a resumed rendering that are restored already are skipped
+			if (checkpoint != null && checkpoint.isFinished(tile))
+				return;
+			for (int i = tile.row(); i < tile.row() + tile.height(); ++i)
+				for (int j = tile.col(); j < tile.col() + tile.width(); ++j)
+					action.render(j, i);
+			if (checkpoint != null)
+				checkpoint.tileFinished(tile);
+		};
+		// if we don't have threads at all - continue normally, row by row
 		if (threadsCount == 0) {
-			for (int i = 0; i < nY; ++i)
-				for (int j = 0; j < nX; j++)
-					castRay(nX, nY, j, i);
-			return this;
+			for (TileScheduler.Tile row : TileScheduler.rows(job).getTiles()) {
+				if (job.isCancelled())
+					return;
+				renderTile.accept(row);
+				job.pixelsDone(row.width());
+			}
+			return;
+		}
+		// a parallel stream over the range of the tiles (or of the rows)
+		if (threadsCount == -1) {
+			(tileSize > 0 ? new TileScheduler(job, tileSize) : TileScheduler.rows(job)).renderStream(renderPool,
+					renderTile);
+			return;
+		}
+		// the threads steal tiles from each other, and render a whole tile at a time
+		// (the checkpoints are of whole tiles, so they are of rows instead of batches)
+		if (tileSize > 0 || checkpoint != null) {
+			TileScheduler scheduler = tileSize > 0 ? new TileScheduler(job, tileSize) : TileScheduler.rows(job);
+			if (virtualThreads)
+				scheduler.renderVirtual(threadsCount, renderTile);
+			else if (renderPool != null)
+				scheduler.render(renderPool, renderTile);
+			else
+				scheduler.render(threadsCount, renderTile);
+			return;
 		}
 		// if we have threads then activate them
 		List<Thread> threads = new LinkedList<>();
-		int availableProcessors = threadsCount == -1 ? Runtime.getRuntime().availableProcessors() : threadsCount;
-
-		for (int t = 0; t < availableProcessors; t++) {
-			threads.add(new Thread(() -> {
-				Pixel pixel;
-				while ((pixel = Pixel.nextPixel()) != null)
-					castRay(nX, nY, pixel.col(), pixel.row());
+		Thread.Builder threadBuilder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+		for (int t = 0; t < threadsCount; t++) {
+			threads.add(threadBuilder.unstarted(() -> {
+				for (long first = job.nextBatch(); first >= 0; first = job.nextBatch()) {
+					long end = job.batchEnd(first);
+					for (long index = first; index < end; ++index) {
+						Pixel pixel = job.pixelAt(index);
+						action.render(pixel.col(), pixel.row());
+					}
+					job.pixelsDone(end - first);
+				}
 			}));
 		}
 		for (var thread : threads)
 			thread.start();
-		try {
-			for (var thread : threads)
-				thread.join();
-		} catch (InterruptedException ignore) {
+		// an interrupt cancels the job, but the started pixels are still awaited
+		boolean interrupted = false;
+		for (var thread : threads)
+			while (thread.isAlive())
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+					job.cancel();
+				}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * Renders the image progressively: the first pass casts a single ray through
+	 * the center of every pixel, and every next pass adds anti-aliasing samples
+	 * (doubling the samples of each pixel) into a running sum of each pixel,
+	 * until all the numOfSamples x numOfSamples samples are cast. The samples are
+	 * taken in a stratified order, so the samples of every pass are spread over
+	 * the pixel. After each pass the current image is published to the pass
+	 * listener. A cancellation stops the rendering after the current pass
+	 * (whose remaining pixels are skipped). The checkpoint keeps the sums after
+	 * every finished pass, and a resumed rendering continues after the last one.
+	 * 
+	 * @param job        the render job
+	 * @param checkpoint the checkpoint of the finished passes (null - none)
+	 */
+	private void renderProgressive(RenderJob job, Checkpoint checkpoint) {
+		int nX = job.getNx();
+		int nY = job.getNy();
+		// a resumed rendering continues after the last pass of the checkpoint
+		int restored = checkpoint == null ? 0 : checkpoint.getPass();
+		if (restored == 0) {
+			renderPixels(job, (j, i) -> imageWriter.writePixel(j, i, rayTracer.traceRay(constructRay(nX, nY, j, i))),
+					null);
+			passListener.accept(imageWriter, job.getPass());
+			if (checkpoint != null && job.isComplete())
+				checkpoint.passFinished(job.getPass(), 0, null);
+		} else
+			job.restorePass(restored);
+		if (!antiAliasingActive || numOfSamples == 1)
+			return;
+
+		int n = numOfSamples;
+		int[] order = stratifiedOrder(n);
+		Color[] sums = restored > 1 ? checkpoint.getSums() : new Color[nX * nY];
+		if (restored <= 1)
+			Arrays.fill(sums, Color.BLACK);
+		// the first refinement pass casts two samples (the sample of the center isn't
+		// one of the anti-aliasing samples), and every next pass doubles the samples
+		// of each pixel
+		int from = restored > 1 ? checkpoint.getSamples() : 0;
+		while (from < order.length && !job.isCancelled()) {
+			final int first = from;
+			final int last = Math.min(order.length, Math.max(2, 2 * from));
+			// the sums of the previous pass are kept intact for the checkpoint
+			final Color[] previous = sums;
+			final Color[] current = sums.clone();
+			job.nextPass();
+			renderPixels(job, (j, i) -> {
+				Color sum = previous[i * nX + j];
+				for (int sample = first; sample < last; ++sample) {
+					int subI = order[sample] / n;
+					int subJ = order[sample] % n;
+					sum = sum.add(rayTracer.traceRay(constructRay(nX * n, nY * n, j * n + subJ, i * n + subI)));
+				}
+				current[i * nX + j] = sum;
+				imageWriter.writePixel(j, i, sum.reduce(last));
+			}, null);
+			passListener.accept(imageWriter, job.getPass());
+			// a pass that was cancelled before it was finished isn't kept
+			if (!job.isComplete())
+				return;
+			sums = current;
+			if (checkpoint != null)
+				checkpoint.passFinished(job.getPass(), last, sums);
+			from = last;
 		}
-		return this;
+	}
+
+	/**
+	 * Orders the sub-pixels of a pixel so every prefix of the order is spread
+	 * evenly over the pixel - the sub-pixels are sorted by the reversed bits of
+	 * their Morton codes (the interleaved bits of their row and column)
+	 * 
+	 * @param n the amount of sub-pixels along each side of the pixel
+	 * @return the indices of the sub-pixels (row * n + column) in the order
+	 */
+	private static int[] stratifiedOrder(int n) {
+		Integer[] indices = new Integer[n * n];
+		for (int index = 0; index < indices.length; ++index)
+			indices[index] = index;
+		Arrays.sort(indices, (a, b) -> Integer.compareUnsigned(Integer.reverse(mortonCode(a / n, a % n)),
+				Integer.reverse(mortonCode(b / n, b % n))));
+		int[] order = new int[indices.length];
+		for (int index = 0; index < order.length; ++index)
+			order[index] = indices[index];
+		return order;
+	}
+
+	/**
+	 * Interleaves the bits of a row and a column (up to 16 bits each)
+	 * 
+	 * @param row the row
+	 * @param col the column
+	 * @return the Morton code
+	 */
+	private static int mortonCode(int row, int col) {
+		int code = 0;
+		for (int bit = 0; bit < 16; ++bit)
+			code |= (row >> bit & 1) << (2 * bit + 1) | (col >> bit & 1) << (2 * bit);
+		return code;
 	}
 
 	/**
@@ -261,14 +590,25 @@ public class Camera implements Cloneable {
 	 * @param i  the row index of the pixel
 	 */
 	private void castRay(int nX, int nY, int j, int i) {
+		imageWriter.writePixel(j, i, calcPixelColor(nX, nY, j, i));
+	}
+
+	/**
+	 * Calculate the color of a pixel (see {@link #castRay(int, int, int, int)})
+	 * 
+	 * @param nX the number of columns in the resolution
+	 * @param nY the number of rows in the resolution
+	 * @param j  the column index of the pixel
+	 * @param i  the row index of the pixel
+	 * @return the color of the pixel
+	 */
+	private Color calcPixelColor(int nX, int nY, int j, int i) {
 		Color finalColor = Color.BLACK;
 		// if none of the improvements are active
-		// we can just cast the ray and write the color to the pixel.
+		// we can just cast the ray and return its color.
 		if (!antiAliasingActive && !adaptiveSuperSamplingActive) {
 			Ray ray = constructRay(nX, nY, j, i);
-			finalColor = rayTracer.traceRay(ray);
-			imageWriter.writePixel(j, i, finalColor);
-			return;
+			return rayTracer.traceRay(ray);
 		}
 		// if anti aliasing flag is up then send send numOfSamples rays to the pixel
 		if (antiAliasingActive) {
@@ -293,9 +633,35 @@ public class Camera implements Cloneable {
 			// to get the level value we need to do samples -1 and then log2 on the result
 			finalColor = castRaysRecursive(nX, nY, j, i, (int) (log(numOfSamples - 1) / log(2)));
 		}
-		// write the final color to the pixel
-		imageWriter.writePixel(j, i, finalColor);
-		Pixel.pixelDone();
+		return finalColor;
+	}
+
+	/**
+	 * Prepares the scene for rendering tiles by {@link #renderTile} (builds the
+	 * acceleration structures of its geometries)
+	 * 
+	 * @param parallelism the amount of threads for the preparation
+	 */
+	void prepareScene(int parallelism) {
+		rayTracer.prepareScene(parallelism);
+	}
+
+	/**
+	 * Renders a tile of the image without writing it to the image writer (e.g.
+	 * by a {@link TileWorker} that has no image)
+	 * 
+	 * @param tile the tile
+	 * @param nX   the number of columns in the resolution
+	 * @param nY   the number of rows in the resolution
+	 * @return the RGB values of the tile pixels, row by row
+	 */
+	int[] renderTile(TileScheduler.Tile tile, int nX, int nY) {
+		int[] rgb = new int[tile.width() * tile.height()];
+		int index = 0;
+		for (int i = tile.row(); i < tile.row() + tile.height(); ++i)
+			for (int j = tile.col(); j < tile.col() + tile.width(); ++j)
+				rgb[index++] = calcPixelColor(nX, nY, j, i).getColor().getRGB();
+		return rgb;
 	}
 
 	/**
@@ -456,6 +822,20 @@ public class Camera implements Cloneable {
 		return dictionary;
 	}
 
+	/**
+	 * The rendering of a single pixel
+	 */
+	@FunctionalInterface
+	private interface PixelAction {
+		/**
+		 * Renders a pixel
+		 * 
+		 * @param j the column index of the pixel
+		 * @param i the row index of the pixel
+		 */
+		void render(int j, int i);
+	}
+
 	/**
 	 * Builder inner class for constructing a Camera object.
 	 * 
@@ -578,7 +958,9 @@ public class Camera implements Cloneable {
 		}
 
 		/**
-		 * sets the multi-threading
+		 * sets the multi-threading: 0 - no threads, -1 - a parallel stream on the
+		 * common pool, -2 - all the cores but the spare ones, or the number of
+		 * threads
 		 *
 		 * @param threads the number of threads the user inputed
 		 * @return the Builder instance.
@@ -606,6 +988,110 @@ public class Camera implements Cloneable {
 			return this;
 		}
 
+		/**
+		 * Sets the progressive rendering: the first pass renders a single ray per
+		 * pixel, and every next pass adds anti-aliasing samples (two samples in the
+		 * second pass, and then doubling the samples of each pixel) until all the
+		 * samples of {@link #setNumOfSamples(int)} are cast, so a usable image is
+		 * available right after the first pass. The listener is called after every pass with
+		 * the image writer (which holds the current image) and the pass number - it
+		 * may write the image, for example.
+		 * 
+		 * @param passListener the listener of the passes (null - not progressive)
+		 * @return the Builder instance.
+		 */
+		public Builder setProgressive(ObjIntConsumer<ImageWriter> passListener) {
+			camera.passListener = passListener;
+			return this;
+		}
+
+		/**
+		 * Sets whether the rendering threads are virtual threads. Then every tile is
+		 * rendered by its own virtual thread, and the amount of threads that is set
+		 * by {@link #setMultithreading(int)} bounds the amount of tiles that are
+		 * rendered at the same time. The virtual threads run on the carrier threads
+		 * that are shared by the whole JVM (their amount is bounded by the
+		 * {@code jdk.virtualThreadScheduler.parallelism} system property), so many
+		 * renderings may run together without platform threads of their own. The
+		 * parallel stream mode (-1) ignores it.
+		 * 
+		 * @param virtualThreads true for virtual threads
+		 * @return the Builder instance.
+		 */
+		public Builder setVirtualThreads(boolean virtualThreads) {
+			camera.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		/**
+		 * Sets a pool of threads that renders the tiles, instead of a new pool for
+		 * every multithreaded rendering - several cameras may share the same pool.
+		 * In the parallel stream mode (-1) the stream runs on this pool instead of
+		 * the common pool. The pool isn't shut down by the camera.
+		 * 
+		 * @param renderPool the pool of threads (null - a new pool for every
+		 *                   rendering)
+		 * @return the Builder instance.
+		 */
+		public Builder setRenderPool(ForkJoinPool renderPool) {
+			camera.renderPool = renderPool;
+			return this;
+		}
+
+		/**
+		 * Sets the side of the square tiles that the threads render (16 by default).
+		 * Bigger tiles are scheduled less often, smaller tiles are balanced better
+		 * between the threads. With tile size 0 the threads take short batches of
+		 * pixels, row by row.
+		 * 
+		 * @param tileSize the side of a tile in pixels (0 - batches of pixels)
+		 * @return the Builder instance.
+		 * @throws IllegalArgumentException if the tile size is negative.
+		 */
+		public Builder setTileSize(int tileSize) {
+			if (tileSize < 0)
+				throw new IllegalArgumentException("The tile size can't be negative");
+			camera.tileSize = tileSize;
+			return this;
+		}
+
+		/**
+		 * Sets the periodic checkpoints of the rendering: the finished tiles (or
+		 * rows) with their pixels, and in a progressive rendering the sums of the
+		 * samples after the last finished pass, are saved to a compressed binary
+		 * file - at most once in the interval, and once more when the rendering
+		 * ends (also after a cancellation or a failure). A stopped rendering may be
+		 * resumed by {@link #setResume(boolean)}.
+		 * 
+		 * @param file     the checkpoint file (null - no checkpoints)
+		 * @param interval the minimal time between checkpoints in milliseconds (0 -
+		 *                 after every tile)
+		 * @return the Builder instance.
+		 * @throws IllegalArgumentException if the interval is negative.
+		 */
+		public Builder setCheckpoint(Path file, long interval) {
+			if (interval < 0)
+				throw new IllegalArgumentException("The checkpoint interval can't be negative");
+			camera.checkpointFile = file;
+			camera.checkpointInterval = interval;
+			return this;
+		}
+
+		/**
+		 * Sets whether the rendering resumes from the checkpoint file of a previous
+		 * rendering (if it exists): the finished tiles are restored to the image
+		 * writer and aren't rendered again, and a progressive rendering continues
+		 * after its last finished pass. The previous rendering must have the same
+		 * resolution, tile size and multithreading mode.
+		 * 
+		 * @param resume true for resuming the rendering
+		 * @return the Builder instance.
+		 */
+		public Builder setResume(boolean resume) {
+			camera.resume = resume;
+			return this;
+		}
+
 		/**
 		 * Builds and returns the Camera object.
 		 * 
@@ -645,6 +1131,8 @@ public class Camera implements Cloneable {
 			// if we have both anti-aliasing and adaptive super sampling
 			if (camera.antiAliasingActive && camera.adaptiveSuperSamplingActive)
 				throw new IllegalArgumentException("Can't have both anti-aliasing and adaptive super sampling");
+			if (camera.passListener != null && camera.adaptiveSuperSamplingActive)
+				throw new IllegalArgumentException("Can't have both progressive rendering and adaptive super sampling");
 
 			// Helper objects checks
 			if (camera.imageWriter == null)
@@ -653,6 +1141,10 @@ public class Camera implements Cloneable {
 				throw new MissingResourceException(missingRender, builder, "rayTracer not defined");
 			// Exceptions for threads already thrown in the set function (there is default
 			// value)
+			if (camera.virtualThreads && camera.renderPool != null)
+				throw new IllegalArgumentException("Can't have both virtual threads and a render pool");
+			if (camera.resume && camera.checkpointFile == null)
+				throw new IllegalArgumentException("Can't resume a rendering without a checkpoint file");
 
 			// we don't really need to do try because we checks it all, but the compiler
 			// doesn't give us to do it without try-catch form
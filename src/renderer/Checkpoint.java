@@ -0,0 +1,240 @@
+package renderer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import primitives.Color;
+import renderer.TileScheduler.Tile;
+
+/**
+ * The checkpoint of a long rendering - the finished tiles with their pixels,
+ * and in a progressive rendering the sums of the samples of every pixel after
+ * the last finished pass. It is saved periodically to a compressed binary
+ * file, so a rendering that was stopped (by a crash, for example) may be
+ * resumed by rendering only the tiles that weren't finished.<br>
+ * A new file is written next to the previous one and then moved over it, so a
+ * crash while saving leaves the previous checkpoint intact. A failed saving
+ * is logged, and doesn't stop the rendering.
+ *
+ * @author Lior &amp; Asaf
+ */
+class Checkpoint {
+	/** The first bytes of a checkpoint file ("RTCP") */
+	private static final int MAGIC = 0x52544350;
+	/** The version of the file format */
+	private static final int VERSION = 1;
+
+	/** The checkpoint file */
+	private final Path file;
+	/** The minimal time between periodic savings in nanoseconds */
+	private final long interval;
+	/** The rendering job */
+	private final RenderJob job;
+	/** The image writer of the rendering */
+	private final ImageWriter imageWriter;
+	/** The finished tiles (of the current pass) */
+	private final Set<Tile> finished = ConcurrentHashMap.newKeySet();
+	/** The time of the last saving (by {@link System#nanoTime()}) */
+	private final AtomicLong lastSave = new AtomicLong(System.nanoTime());
+	/** The last finished pass of a progressive rendering (0 - none) */
+	private int pass = 0;
+	/** The amount of anti-aliasing samples of every pixel after the last pass */
+	private int samples = 0;
+	/** The sums of the samples of the pixels after the last pass (null - none) */
+	private Color[] sums = null;
+	/** logger for reporting I/O failures */
+	private final Logger logger = Logger.getLogger("Checkpoint");
+
+	/**
+	 * Constructs the checkpoint of a rendering
+	 *
+	 * @param file         the checkpoint file
+	 * @param milliseconds the minimal time between periodic savings in
+	 *                     milliseconds
+	 * @param job          the rendering job
+	 * @param imageWriter  the image writer of the rendering
+	 */
+	Checkpoint(Path file, long milliseconds, RenderJob job, ImageWriter imageWriter) {
+		this.file = file;
+		this.interval = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+		this.job = job;
+		this.imageWriter = imageWriter;
+	}
+
+	// getters:
+	/**
+	 * Gets the last finished pass of a progressive rendering
+	 *
+	 * @return the pass (0 - none)
+	 */
+	int getPass() {
+		return pass;
+	}
+
+	/**
+	 * Gets the amount of anti-aliasing samples of every pixel after the last
+	 * finished pass
+	 *
+	 * @return the amount of samples
+	 */
+	int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Gets the sums of the samples of the pixels after the last finished pass
+	 *
+	 * @return the sums (row by row), or null if there are no samples yet
+	 */
+	Color[] getSums() {
+		return sums;
+	}
+
+	/**
+	 * Checks whether a tile is finished already
+	 *
+	 * @param tile the tile
+	 * @return true if the tile is finished
+	 */
+	boolean isFinished(Tile tile) {
+		return finished.contains(tile);
+	}
+
+	/**
+	 * Loads the checkpoint file of a previous rendering, if it exists, and
+	 * restores the pixels of its finished tiles in the image writer
+	 *
+	 * @return true if the checkpoint was loaded, false if there is no file
+	 * @throws IllegalArgumentException if the file isn't a checkpoint of an image
+	 *                                  of the same resolution
+	 * @throws IllegalStateException    if the file can't be read
+	 */
+	boolean load() {
+		if (!Files.exists(file))
+			return false;
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IllegalArgumentException("Not a checkpoint file: " + file);
+			if (in.readInt() != job.getNx() || in.readInt() != job.getNy())
+				throw new IllegalArgumentException("The checkpoint doesn't match the image resolution");
+			pass = in.readInt();
+			samples = in.readInt();
+			if (in.readBoolean()) {
+				sums = new Color[job.getNx() * job.getNy()];
+				for (int index = 0; index < sums.length; ++index)
+					sums[index] = new Color(in.readDouble(), in.readDouble(), in.readDouble());
+			}
+			for (int count = in.readInt(); count > 0; --count) {
+				Tile tile = new Tile(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+				for (int i = tile.row(); i < tile.row() + tile.height(); ++i)
+					for (int j = tile.col(); j < tile.col() + tile.width(); ++j)
+						imageWriter.writePixel(j, i, new Color(new java.awt.Color(in.readInt())));
+				finished.add(tile);
+			}
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "I/O error", e);
+			throw new IllegalStateException("Can't read the checkpoint " + file, e);
+		}
+		return true;
+	}
+
+	/**
+	 * Records a finished tile, and saves the checkpoint if the interval has
+	 * passed since the last saving
+	 *
+	 * @param tile the finished tile
+	 */
+	void tileFinished(Tile tile) {
+		finished.add(tile);
+		saveIfDue();
+	}
+
+	/**
+	 * Records a finished pass of a progressive rendering (the image of all the
+	 * rendered regions is finished), and saves the checkpoint if the interval has
+	 * passed since the last saving
+	 *
+	 * @param pass    the finished pass
+	 * @param samples the amount of anti-aliasing samples of every pixel (0 - a
+	 *                single ray through the center of the pixel)
+	 * @param sums    the sums of the samples of the pixels (row by row) - they
+	 *                must not change after the pass (null - no samples)
+	 */
+	synchronized void passFinished(int pass, int samples, Color[] sums) {
+		this.pass = pass;
+		this.samples = samples;
+		this.sums = sums;
+		finished.clear();
+		finished.addAll(job.getRegions());
+		saveIfDue();
+	}
+
+	/**
+	 * Saves the checkpoint if the interval has passed since the last saving -
+	 * only one of the threads that finish a tile at that time saves it
+	 */
+	private void saveIfDue() {
+		long last = lastSave.get();
+		long now = System.nanoTime();
+		if (now - last >= interval && lastSave.compareAndSet(last, now))
+			save();
+	}
+
+	/**
+	 * Saves the checkpoint file
+	 */
+	synchronized void save() {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		List<Tile> tiles = List.copyOf(finished);
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(job.getNx());
+			out.writeInt(job.getNy());
+			out.writeInt(pass);
+			out.writeInt(samples);
+			out.writeBoolean(sums != null);
+			if (sums != null)
+				for (Color sum : sums) {
+					out.writeDouble(sum.getRed());
+					out.writeDouble(sum.getGreen());
+					out.writeDouble(sum.getBlue());
+				}
+			out.writeInt(tiles.size());
+			for (Tile tile : tiles) {
+				out.writeInt(tile.col());
+				out.writeInt(tile.row());
+				out.writeInt(tile.width());
+				out.writeInt(tile.height());
+				for (int i = tile.row(); i < tile.row() + tile.height(); ++i)
+					for (int j = tile.col(); j < tile.col() + tile.width(); ++j)
+						out.writeInt(imageWriter.readPixel(j, i).getColor().getRGB());
+			}
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "I/O error", e);
+			return;
+		}
+		try {
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "I/O error", e);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package renderer;
 
+import java.io.Serializable;
+
 import primitives.Color;
 import primitives.Ray;
 import scene.Scene;
@@ -10,7 +12,10 @@ import scene.Scene;
  * 
  * @author Lior &amp; Asaf
  */
-public abstract class RayTracerBase {
+public abstract class RayTracerBase implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The scene to be rendered.
 	 */
@@ -32,4 +37,15 @@ public abstract class RayTracerBase {
 	 * @return the color seen along the ray
 	 */
 	public abstract Color traceRay(Ray ray);
+
+	/**
+	 * Prepares the scene for tracing - builds the acceleration structures of the
+	 * scene geometries (if they aren't built yet)
+	 *
+	 * @param parallelism the amount of threads that may be used for the
+	 *                    preparation
+	 */
+	public void prepareScene(int parallelism) {
+		scene.geometries.prepare(parallelism);
+	}
 }
@@ -0,0 +1,289 @@
+package renderer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import primitives.Color;
+import renderer.TileScheduler.Tile;
+
+/**
+ * The coordinator of a distributed rendering - it renders the image of a
+ * camera by {@link TileWorker worker processes} and assembles their tiles in
+ * the image writer of the camera.<br>
+ * Every worker connection gets the serialized camera, and then a tile at a
+ * time from a shared queue (in the Hilbert order of {@link TileScheduler}), so
+ * faster workers render more tiles. A worker that fails, or doesn't send a
+ * tile back within the tile timeout, is dropped and its tile returns to the
+ * queue. When the queue is empty, the idle workers render again the tiles that
+ * the slower workers haven't finished yet, and the first result of a tile is
+ * kept - a single slow worker doesn't delay the end of the image.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class RenderCoordinator {
+	/** The camera of the rendered image */
+	private final Camera camera;
+	/** The addresses of the worker connections */
+	private final List<InetSocketAddress> workers;
+	/** The side of a tile */
+	private int tileSize = 32;
+	/** The maximal time to wait for a connection or a tile in milliseconds */
+	private int tileTimeout = 60_000;
+	/** logger for reporting failed workers */
+	private final Logger logger = Logger.getLogger("RenderCoordinator");
+
+	/**
+	 * Constructs a coordinator of the workers
+	 *
+	 * @param camera  the camera of the rendered image (the image is written to
+	 *                its image writer)
+	 * @param workers the addresses of the worker connections - an address may
+	 *                appear several times to render several tiles on that worker
+	 *                at the same time
+	 * @throws IllegalArgumentException if there are no workers
+	 */
+	public RenderCoordinator(Camera camera, List<InetSocketAddress> workers) {
+		if (workers.isEmpty())
+			throw new IllegalArgumentException("There must be at least one worker");
+		this.camera = camera;
+		this.workers = List.copyOf(workers);
+	}
+
+	// setters:
+	/**
+	 * Sets the side of the tiles that are sent to the workers
+	 *
+	 * @param tileSize the side of a tile in pixels
+	 * @return the coordinator itself
+	 * @throws IllegalArgumentException if the size isn't positive
+	 */
+	public RenderCoordinator setTileSize(int tileSize) {
+		if (tileSize <= 0)
+			throw new IllegalArgumentException("The tile size must be positive");
+		this.tileSize = tileSize;
+		return this;
+	}
+
+	/**
+	 * Sets the maximal time to wait for a worker to connect or to send a tile
+	 * back - a slower worker is dropped
+	 *
+	 * @param milliseconds the timeout in milliseconds (0 - unlimited)
+	 * @return the coordinator itself
+	 * @throws IllegalArgumentException if the timeout is negative
+	 */
+	public RenderCoordinator setTileTimeout(int milliseconds) {
+		if (milliseconds < 0)
+			throw new IllegalArgumentException("The timeout can't be negative");
+		tileTimeout = milliseconds;
+		return this;
+	}
+
+	/**
+	 * Renders the image of the camera by the workers (see
+	 * {@link #render(RenderJob)})
+	 *
+	 * @return the timing statistics of the rendering
+	 */
+	public RenderStatistics render() {
+		return render(camera.createRenderJob());
+	}
+
+	/**
+	 * Renders the image of a render job by the workers, and returns when all the
+	 * tiles are written to the image writer of the camera (or when the job is
+	 * cancelled). The scene is prepared by the workers, so the build time of the
+	 * statistics is 0.
+	 *
+	 * @param job the render job (created by the camera)
+	 * @return the timing statistics of the rendering
+	 * @throws IllegalArgumentException if the job resolution differs from the
+	 *                                  image resolution
+	 * @throws IllegalStateException    if all the workers failed before the
+	 *                                  image was finished
+	 */
+	public RenderStatistics render(RenderJob job) {
+		ImageWriter imageWriter = camera.getImageWriter();
+		if (job.getNx() != imageWriter.getNx() || job.getNy() != imageWriter.getNy())
+			throw new IllegalArgumentException("The render job doesn't match the image resolution");
+		job.start();
+		long start = System.nanoTime();
+		Rendering rendering = new Rendering(job, imageWriter);
+		for (InetSocketAddress worker : workers)
+			Thread.ofPlatform().name("render coordinator").start(() -> rendering.serve(worker));
+		try {
+			rendering.finished.await();
+		} catch (InterruptedException e) {
+			// the connections end after their current tiles
+			job.cancel();
+			Thread.currentThread().interrupt();
+		}
+		// the workers that still render duplicated tiles are disconnected
+		rendering.disconnect();
+
+		if (rendering.unwritten.get() != 0 && !job.isCancelled()) {
+			IllegalStateException failure = new IllegalStateException("All the workers failed to render the image");
+			job.fail(failure);
+			throw failure;
+		}
+		RenderStatistics statistics = new RenderStatistics(0, System.nanoTime() - start);
+		job.finish(statistics);
+		return statistics;
+	}
+
+	/**
+	 * The state of a single distributed rendering, which is shared by the threads
+	 * of the worker connections
+	 */
+	private class Rendering {
+		/** The render job */
+		private final RenderJob job;
+		/** The image writer of the camera */
+		private final ImageWriter imageWriter;
+		/** The tiles that no worker renders */
+		private final ConcurrentLinkedDeque<Tile> queue;
+		/** The tiles that no worker result was accepted for yet */
+		private final Set<Tile> pending = ConcurrentHashMap.newKeySet();
+		/** The amount of the tiles that aren't written to the image yet */
+		private final AtomicInteger unwritten;
+		/** The open connections to the workers */
+		private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+		/** The amount of the connections that haven't ended */
+		private final AtomicInteger alive = new AtomicInteger(workers.size());
+		/** Released when all the tiles are written, or all the connections ended */
+		private final CountDownLatch finished = new CountDownLatch(1);
+
+		/**
+		 * Constructs the state of a rendering
+		 *
+		 * @param job         the render job
+		 * @param imageWriter the image writer of the camera
+		 */
+		private Rendering(RenderJob job, ImageWriter imageWriter) {
+			this.job = job;
+			this.imageWriter = imageWriter;
+			List<Tile> tiles = new TileScheduler(job, tileSize).getTiles();
+			queue = new ConcurrentLinkedDeque<>(tiles);
+			pending.addAll(tiles);
+			unwritten = new AtomicInteger(tiles.size());
+			if (tiles.isEmpty())
+				finished.countDown();
+		}
+
+		/**
+		 * Renders tiles by a single worker connection until there are no more
+		 * tiles, or the worker fails
+		 *
+		 * @param worker the address of the worker
+		 */
+		private void serve(InetSocketAddress worker) {
+			Tile tile = null;
+			try (Socket socket = new Socket()) {
+				connections.add(socket);
+				if (pending.isEmpty())
+					return;
+				socket.connect(worker, tileTimeout);
+				socket.setSoTimeout(tileTimeout);
+				ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+				out.writeObject(camera);
+				out.writeInt(job.getNx());
+				out.writeInt(job.getNy());
+				out.flush();
+				ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+				in.setObjectInputFilter(TileWorker.FILTER);
+
+				while (!job.isCancelled() && (tile = nextTile()) != null) {
+					out.writeObject(tile);
+					out.reset();
+					out.flush();
+					int[] rgb = (int[]) in.readObject();
+					if (rgb.length != tile.width() * tile.height())
+						throw new IOException("Wrong amount of pixels in tile " + tile + ": " + rgb.length);
+					// the first result of a tile that was sent to several workers is kept
+					if (pending.remove(tile))
+						write(tile, rgb);
+					tile = null;
+				}
+				out.writeObject(null);
+				out.flush();
+			} catch (IOException | ClassNotFoundException | ClassCastException e) {
+				// a disconnection after the image is finished isn't a failure
+				if (pending.isEmpty())
+					logger.log(Level.FINE, "Worker " + worker + " disconnected", e);
+				else if (e instanceof SocketTimeoutException || e instanceof ConnectException
+						|| e instanceof EOFException)
+					// the stack trace of a slow, unreachable or disconnected worker tells nothing
+					logger.log(Level.WARNING, "Worker " + worker + " failed: " + e);
+				else
+					logger.log(Level.WARNING, "Worker " + worker + " failed", e);
+				// the tile of the failed worker is rendered by another one
+				if (tile != null && pending.contains(tile))
+					queue.addFirst(tile);
+			} finally {
+				if (alive.decrementAndGet() == 0)
+					finished.countDown();
+			}
+		}
+
+		/**
+		 * Writes the pixels of a finished tile to the image
+		 *
+		 * @param tile the tile
+		 * @param rgb  the RGB values of the tile pixels, row by row
+		 */
+		private void write(Tile tile, int[] rgb) {
+			int index = 0;
+			for (int i = tile.row(); i < tile.row() + tile.height(); ++i)
+				for (int j = tile.col(); j < tile.col() + tile.width(); ++j)
+					imageWriter.writePixel(j, i, new Color(new java.awt.Color(rgb[index++])));
+			job.pixelsDone((long) tile.width() * tile.height());
+			// another connection may still be writing a tile that left pending earlier
+			if (unwritten.decrementAndGet() == 0)
+				finished.countDown();
+		}
+
+		/**
+		 * Takes the next tile for an idle worker
+		 *
+		 * @return the next tile - a tile of the queue, or else a tile that another
+		 *         worker hasn't finished yet (null if all the tiles are finished)
+		 */
+		private Tile nextTile() {
+			// a returned tile may have been finished by another worker meanwhile
+			for (Tile tile = queue.poll(); tile != null; tile = queue.poll())
+				if (pending.contains(tile))
+					return tile;
+			Iterator<Tile> unfinished = pending.iterator();
+			return unfinished.hasNext() ? unfinished.next() : null;
+		}
+
+		/**
+		 * Closes the connections that are still open
+		 */
+		private void disconnect() {
+			for (Socket socket : connections)
+				try {
+					socket.close();
+				} catch (IOException ignore) {
+					// the connection is abandoned anyway
+				}
+		}
+	}
+}
@@ -0,0 +1,382 @@
+package renderer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import renderer.TileScheduler.Tile;
+
+/**
+ * The state of a single rendering of an image - the cursor of the next pixel,
+ * the progress and the statistics. Every rendering has its own job, so several
+ * images may be rendered at the same time in the same process, and each one
+ * may be cancelled independently.<br>
+ * The pixels are numbered row by row, and the threads take them in batches by
+ * incrementing a single atomic index, so the dispenser and the progress
+ * counter don't lock at all. A job is created by
+ * {@link Camera#createRenderJob()} and rendered once by
+ * {@link Camera#renderImage(RenderJob)}.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class RenderJob {
+	/** The amount of pixels that a thread takes at once by {@link #nextBatch()} */
+	static final int BATCH_SIZE = 32;
+	/** The printing format */
+	private static final String PRINT_FORMAT = "%5.1f%%\r";
+
+	/** The column amount in the image */
+	private final int nX;
+	/** The row amount in the image */
+	private final int nY;
+	/** The rendered regions of the image */
+	private final List<Tile> regions;
+	/** The index of the first pixel of each region (and the total at the end) */
+	private final long[] regionStarts;
+	/** The total amount of rendered pixels */
+	private final long totalPixels;
+	/** The interval for printing the progress (in tenth of percent, 0 - none) */
+	private final int printInterval;
+	/** The index of the next pixel to be colored (row by row) */
+	private final AtomicLong next = new AtomicLong();
+	/** How many pixels are colored already */
+	private final LongAdder pixels = new LongAdder();
+	/** The last printed percentage (in tenth of percent) */
+	private final AtomicInteger lastPrinted = new AtomicInteger();
+	/** The current pass of a progressive rendering (1 - the first pass) */
+	private volatile int pass = 1;
+	/** Whether the rendering of the job has started */
+	private final AtomicBoolean started = new AtomicBoolean();
+	/** Whether the job was cancelled */
+	private volatile boolean cancelled = false;
+	/** Whether the job was cancelled because its time limit has passed */
+	private volatile boolean timedOut = false;
+	/** The time limit of the rendering in milliseconds (0 - unlimited) */
+	private long timeLimit = 0;
+	/** The deadline of the rendering (by {@link System#nanoTime()}) */
+	private volatile long deadline = 0;
+	/** The timing statistics of the rendering (null until it is finished) */
+	private volatile RenderStatistics statistics = null;
+	/** The failure of the rendering (null if it didn't fail) */
+	private volatile Throwable failure = null;
+	/** Released when the rendering is finished (or failed) */
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	/**
+	 * Constructs the job of rendering a whole image
+	 *
+	 * @param nX            the number of columns in the image
+	 * @param nY            the number of rows in the image
+	 * @param printInterval the interval for printing the progress percentage (0 -
+	 *                      no printing)
+	 */
+	RenderJob(int nX, int nY, double printInterval) {
+		this(nX, nY, printInterval, List.of(new Tile(0, 0, nX, nY)));
+	}
+
+	/**
+	 * Constructs the job of rendering regions of an image
+	 *
+	 * @param nX            the number of columns in the image
+	 * @param nY            the number of rows in the image
+	 * @param printInterval the interval for printing the progress percentage (0 -
+	 *                      no printing)
+	 * @param regions       the rendered regions (inside the image, not empty)
+	 */
+	RenderJob(int nX, int nY, double printInterval, List<Tile> regions) {
+		this.nX = nX;
+		this.nY = nY;
+		this.regions = regions;
+		regionStarts = new long[regions.size() + 1];
+		for (int r = 0; r < regions.size(); ++r)
+			regionStarts[r + 1] = regionStarts[r] + (long) regions.get(r).width() * regions.get(r).height();
+		totalPixels = regionStarts[regions.size()];
+		this.printInterval = (int) (printInterval * 10);
+	}
+
+	// getters:
+	/**
+	 * Gets the number of columns in the image
+	 *
+	 * @return the number of columns
+	 */
+	public int getNx() {
+		return nX;
+	}
+
+	/**
+	 * Gets the number of rows in the image
+	 *
+	 * @return the number of rows
+	 */
+	public int getNy() {
+		return nY;
+	}
+
+	/**
+	 * Gets the rendered regions of the image
+	 *
+	 * @return the regions
+	 */
+	List<Tile> getRegions() {
+		return regions;
+	}
+
+	/**
+	 * Gets the current pass of the rendering - a progressive rendering renders
+	 * the image several times, and the progress is of the current pass
+	 *
+	 * @return the current pass (1 - the first pass)
+	 */
+	public int getPass() {
+		return pass;
+	}
+
+	/**
+	 * Gets the part of the rendered pixels that is rendered already (in the
+	 * current pass)
+	 *
+	 * @return the progress - between 0 and 1
+	 */
+	public double getProgress() {
+		return totalPixels == 0 ? 1 : (double) pixels.sum() / totalPixels;
+	}
+
+	/**
+	 * Gets the timing statistics of the rendering
+	 *
+	 * @return the statistics (null if the rendering isn't finished)
+	 */
+	public RenderStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Checks whether the rendering is finished (completely, after a cancellation,
+	 * or after a failure)
+	 *
+	 * @return true if the rendering is finished
+	 */
+	public boolean isDone() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * Checks whether all the rendered pixels (of the whole image or of the
+	 * regions) are rendered (in the current pass)
+	 *
+	 * @return true if the image is complete, false if it is partial
+	 */
+	public boolean isComplete() {
+		return pixels.sum() == totalPixels;
+	}
+
+	/**
+	 * Checks whether the job was cancelled (explicitly or by its time limit)
+	 *
+	 * @return true if the job was cancelled
+	 */
+	public boolean isCancelled() {
+		if (!cancelled && deadline != 0 && System.nanoTime() - deadline > 0) {
+			timedOut = true;
+			cancelled = true;
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Checks whether the job was cancelled because its time limit has passed
+	 *
+	 * @return true if the time limit has passed before the rendering finished
+	 */
+	public boolean isTimedOut() {
+		return isCancelled() && timedOut;
+	}
+
+	// setters:
+	/**
+	 * Sets the time limit of the rendering - the wall-clock time since the
+	 * rendering starts (including the preparation of the scene), after which the
+	 * job is cancelled. It must be set before the rendering starts.
+	 *
+	 * @param milliseconds the time limit in milliseconds (0 - unlimited)
+	 * @return the job itself
+	 * @throws IllegalArgumentException if the time limit is negative
+	 */
+	public RenderJob setTimeLimit(long milliseconds) {
+		if (milliseconds < 0)
+			throw new IllegalArgumentException("The time limit can't be negative");
+		timeLimit = milliseconds;
+		return this;
+	}
+
+	/**
+	 * Waits until the rendering is finished
+	 *
+	 * @return the timing statistics of the rendering
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 * @throws RuntimeException     the failure of the rendering, if it failed
+	 */
+	public RenderStatistics await() throws InterruptedException {
+		finished.await();
+		return result();
+	}
+
+	/**
+	 * Waits until the rendering is finished, or until the waiting time passes
+	 *
+	 * @param timeout the maximal time to wait
+	 * @param unit    the unit of the timeout
+	 * @return the timing statistics of the rendering (null if it isn't finished
+	 *         yet)
+	 * @throws InterruptedException if the waiting thread is interrupted
+	 * @throws RuntimeException     the failure of the rendering, if it failed
+	 */
+	public RenderStatistics await(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit) ? result() : null;
+	}
+
+	/**
+	 * Returns the result of a finished rendering
+	 *
+	 * @return the timing statistics of the rendering
+	 * @throws RuntimeException the failure of the rendering, if it failed
+	 */
+	private RenderStatistics result() {
+		if (failure instanceof RuntimeException e)
+			throw e;
+		if (failure instanceof Error e)
+			throw e;
+		return statistics;
+	}
+
+	/**
+	 * Cancels the rendering - the threads finish the pixels (or the tiles) that
+	 * they have already started, and no more pixels are rendered. The pixels that
+	 * weren't rendered are left as they are in the image.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Starts the rendering - prints the initial progress
+	 *
+	 * @throws IllegalStateException if the job was already rendered
+	 */
+	void start() {
+		if (!started.compareAndSet(false, true))
+			throw new IllegalStateException("A render job can be rendered only once");
+		if (timeLimit > 0)
+			deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+		if (printInterval != 0)
+			System.out.printf(PRINT_FORMAT, 0d);
+	}
+
+	/**
+	 * Starts the next pass of a progressive rendering - the pixels are dispensed
+	 * and counted again from the beginning
+	 */
+	void nextPass() {
+		++pass;
+		next.set(0);
+		pixels.reset();
+		lastPrinted.set(0);
+		if (printInterval != 0)
+			System.out.printf(PRINT_FORMAT, 0d);
+	}
+
+	/**
+	 * Restores a finished pass of a resumed progressive rendering - its image is
+	 * restored already, so all its pixels are counted as rendered
+	 *
+	 * @param pass the restored pass
+	 */
+	void restorePass(int pass) {
+		this.pass = pass;
+		pixels.add(totalPixels - pixels.sum());
+	}
+
+	/**
+	 * Finishes the rendering
+	 *
+	 * @param statistics the timing statistics of the rendering
+	 */
+	void finish(RenderStatistics statistics) {
+		this.statistics = statistics;
+		finished.countDown();
+	}
+
+	/**
+	 * Finishes the rendering after a failure
+	 *
+	 * @param failure the failure of the rendering
+	 */
+	void fail(Throwable failure) {
+		this.failure = failure;
+		finished.countDown();
+	}
+
+	/**
+	 * Takes the next batch of {@link #BATCH_SIZE} pixels to be colored (the last
+	 * batch may be shorter - see {@link #batchEnd(long)})
+	 *
+	 * @return the index of the first pixel of the batch (-1 if there isn't, or the
+	 *         job was cancelled)
+	 */
+	long nextBatch() {
+		// the time limit is checked as well
+		if (isCancelled())
+			return -1;
+		long first = next.getAndAdd(BATCH_SIZE);
+		return first < totalPixels ? first : -1;
+	}
+
+	/**
+	 * Calculates the end of a batch
+	 *
+	 * @param first the index of the first pixel of the batch
+	 * @return the index after the last pixel of the batch
+	 */
+	long batchEnd(long first) {
+		return Math.min(first + BATCH_SIZE, totalPixels);
+	}
+
+	/**
+	 * Creates the pixel of an index
+	 *
+	 * @param index the index of the pixel (region by region, row by row)
+	 * @return the pixel
+	 */
+	Pixel pixelAt(long index) {
+		int r = Arrays.binarySearch(regionStarts, index);
+		// the index is inside the region that starts before it
+		if (r < 0)
+			r = -r - 2;
+		Tile region = regions.get(r);
+		long local = index - regionStarts[r];
+		return new Pixel(region.row() + (int) (local / region.width()), region.col() + (int) (local % region.width()));
+	}
+
+	/**
+	 * Counts several finished pixels, and prints the percent if it passed the
+	 * print interval
+	 *
+	 * @param count the amount of the finished pixels
+	 */
+	void pixelsDone(long count) {
+		pixels.add(count);
+		if (printInterval == 0)
+			return;
+		int percentage = (int) (1000l * pixels.sum() / totalPixels);
+		int last = lastPrinted.get();
+		// only the thread that advances the last printed value prints it
+		if (percentage - last >= printInterval && lastPrinted.compareAndSet(last, percentage))
+			System.out.printf(PRINT_FORMAT, percentage / 10d);
+	}
+}
@@ -0,0 +1,18 @@
+package renderer;
+
+/**
+ * Timing statistics of a rendering
+ *
+ * @param buildTime  the time of preparing the scene - building the
+ *                   acceleration structures of its geometries (in nanoseconds)
+ * @param renderTime the time of tracing the rays of all the pixels (in
+ *                   nanoseconds)
+ * @author Lior &amp; Asaf
+ */
+public record RenderStatistics(long buildTime, long renderTime) {
+
+	@Override
+	public String toString() {
+		return String.format("build: %.3f ms, render: %.3f ms", buildTime / 1e6, renderTime / 1e6);
+	}
+}
@@ -18,6 +18,9 @@ import scene.Scene;
  * @author Lior &amp; Asaf
  */
 public class SimpleRayTracer extends RayTracerBase {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
+
 	/** using to move the point, to not hide itself */
 	private static final double DELTA = 0.1;
 	/** how much transparency rays will be in the image **/
@@ -50,7 +53,7 @@ public class SimpleRayTracer extends RayTracerBase {
 	 * @return the closest intersection point of the ray with the geometries.
 	 */
 	private GeoPoint findClosestIntersection(Ray ray) {
-		return ray.findClosestGeoPoint(scene.geometries.findGeoIntersections(ray));
+		return scene.geometries.findClosestGeoIntersection(ray);
 	}
 
 	/**
@@ -77,7 +80,7 @@ public class SimpleRayTracer extends RayTracerBase {
 	 * @return the calculated color at the given intersection
 	 */
 	private Color calcColor(GeoPoint gp, Ray ray, int level, Double3 k) {
-		Vector n = gp.geometry.getNormal(gp.point);
+		Vector n = gp.getNormal();
 		Vector v = ray.getDir();
 		double nv = alignZero(n.dotProduct(v));
 		if (nv == 0)
@@ -102,20 +105,32 @@ public class SimpleRayTracer extends RayTracerBase {
 	 * @return the calculated color at the given intersection point
 	 */
 	private Color calcLocalEffects(GeoPoint intersection, Vector n, Vector v, double nv, Double3 k) {
-		Color color = intersection.geometry.getEmission();
+		Color emission = intersection.geometry.getEmission();
 		Material material = intersection.geometry.getMaterial();
+		// the components are summed as raw doubles, and the color is created once
+		double red = emission.getRed();
+		double green = emission.getGreen();
+		double blue = emission.getBlue();
 		for (LightSource lightSource : scene.lights) {
 			Vector l = lightSource.getL(intersection.point);
 			double nl = alignZero(n.dotProduct(l));
 			if (nl * nv > 0) { // sign(nl) == sign(nv)
 				Double3 ktr = transparency(intersection, lightSource, l, n, nl);
-				if (!ktr.product(k).lowerThan(MIN_CALC_COLOR_K)) {
-					Color iL = lightSource.getIntensity(intersection.point).scale(ktr);
-					color = color.add(iL.scale(calcDiffusive(material, nl).add(calcSpecular(material, n, l, nl, v))));
+				double kr = ktr.getD1();
+				double kg = ktr.getD2();
+				double kb = ktr.getD3();
+				if (kr * k.getD1() >= MIN_CALC_COLOR_K || kg * k.getD2() >= MIN_CALC_COLOR_K
+						|| kb * k.getD3() >= MIN_CALC_COLOR_K) {
+					Color iL = lightSource.getIntensity(intersection.point);
+					double diffusive = abs(nl);
+					double specular = calcSpecular(material, l, nl, v, nv);
+					red += iL.getRed() * kr * (material.kD.getD1() * diffusive + material.kS.getD1() * specular);
+					green += iL.getGreen() * kg * (material.kD.getD2() * diffusive + material.kS.getD2() * specular);
+					blue += iL.getBlue() * kb * (material.kD.getD3() * diffusive + material.kS.getD3() * specular);
 				}
 			}
 		}
-		return color;
+		return new Color(red, green, blue);
 	}
 
 	/**
@@ -181,35 +196,31 @@ public class SimpleRayTracer extends RayTracerBase {
 		// Vector direction = dir.subtract(normal.scale(2 * dir.dotProduct(normal)));
 		// Vector n = normalVector.scale(2 *
 		// dir.dotProduct(normalVector)).subtract(dir);
-		return new Ray(gp.point, dir.mirror(normal, dirNormal), normal);
-	}
-
-	/**
-	 * Calculate the diffusive component of the light reflection from a geometry
-	 * 
-	 * @param material the material of the geometry
-	 * @param nl       the dot product of the normal to the geometry and the vector
-	 * @return the diffusive light reflection
-	 */
-	private Double3 calcDiffusive(Material material, double nl) {
-		return material.kD.scale(abs(nl));
+		// the mirror of a unit vector is a unit vector, so it isn't checked
+		double factor = 2 * dirNormal;
+		Vector reflected = Vector.trusted(dir.getX() - normal.getX() * factor, dir.getY() - normal.getY() * factor,
+				dir.getZ() - normal.getZ() * factor);
+		return new Ray(gp.point, reflected, normal);
 	}
 
 	/**
-	 * Calculate the specular component of the light reflection from a geometry
+	 * Calculate the specular factor of the light reflection from a geometry (to
+	 * be multiplied by the kS of the material). The reflected light direction is
+	 * r = l - 2(n*l)n, so v*r = v*l - 2(n*l)(n*v) is calculated without creating
+	 * it.
 	 * 
 	 * @param material     the material of the geometry
-	 * @param normal       the normal to the geometry and the point of intersection
 	 * @param l            the vector from the light source to the point of
 	 *                     intersection
 	 * @param nl           the dot product of the normal to the geometry and the
 	 *                     vector
 	 * @param rayDirection the direction of the ray
-	 * @return the specular component of the light reflection
+	 * @param nv           the dot product of the normal and the ray direction
+	 * @return the specular factor of the light reflection
 	 */
-	private Double3 calcSpecular(Material material, Vector normal, Vector l, double nl, Vector rayDirection) {
-		double vr = rayDirection.dotProduct(l.mirror(normal, nl));
-		return (alignZero(vr) >= 0) ? Double3.ZERO : material.kS.scale(pow(-vr, material.nShininess));
+	private double calcSpecular(Material material, Vector l, double nl, Vector rayDirection, double nv) {
+		double vr = rayDirection.dotProduct(l) - 2 * nl * nv;
+		return (alignZero(vr) >= 0) ? 0 : pow(-vr, material.nShininess);
 	}
 
 	/**
@@ -257,14 +268,7 @@ public class SimpleRayTracer extends RayTracerBase {
 		// Ray lightRay = new Ray(gp.point.add(normal.scale(nv < 0 ? DELTA : -DELTA)),
 		// lightDirection);
 		Ray lightRay = new Ray(gp.point, l.scale(-1), normal);
-
-		var intersections = scene.geometries.findGeoIntersections(lightRay, light.getDistance(gp.point));
-		Double3 ktr = Double3.ONE;
-		if (intersections == null)
-			return ktr;
-
-		for (GeoPoint point : intersections)
-			ktr = ktr.product(point.geometry.getMaterial().kT);
-		return ktr;
+		// the query stops at the first blocker that makes the light negligible
+		return scene.geometries.findTransmittance(lightRay, light.getDistance(gp.point), MIN_CALC_COLOR_K);
 	}
 }
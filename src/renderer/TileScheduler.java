@@ -0,0 +1,288 @@
+package renderer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Scheduler of the rendering of an image in square tiles on a
+ * {@link ForkJoinPool}. The tiles are ordered along a Hilbert curve, so
+ * consecutive tiles are neighbors in the image (and in the scene), and the
+ * range of tiles is split recursively into tasks, so idle threads steal the
+ * remaining halves of the busy ones. A thread renders a whole tile at a time,
+ * and the progress of the {@link RenderJob} is counted once per tile - the
+ * threads don't share any lock.<br>
+ * Alternatively, every tile may be rendered by its own virtual thread, while a
+ * semaphore bounds the amount of tiles that are rendered at the same time, or
+ * the tiles may be rendered by a parallel stream.
+ *
+ * @author Lior &amp; Asaf
+ */
+class TileScheduler {
+	/** The rendering job of the image */
+	private final RenderJob job;
+	/** The tiles of the image, in the rendering order */
+	private final List<Tile> tiles;
+
+	/**
+	 * A rectangle of pixels of the image
+	 *
+	 * @param col    the column of the first pixel
+	 * @param row    the row of the first pixel
+	 * @param width  the amount of columns
+	 * @param height the amount of rows
+	 */
+	record Tile(int col, int row, int width, int height) implements Serializable {
+		/**
+		 * Calculates the common pixels of two rectangles
+		 *
+		 * @param other the other rectangle
+		 * @return the common rectangle (null if there are no common pixels)
+		 */
+		Tile intersect(Tile other) {
+			int left = Math.max(col, other.col);
+			int top = Math.max(row, other.row);
+			int right = Math.min(col + width, other.col + other.width);
+			int bottom = Math.min(row + height, other.row + other.height);
+			return left < right && top < bottom ? new Tile(left, top, right - left, bottom - top) : null;
+		}
+	}
+
+	/**
+	 * Divides the image of a rendering job into tiles - the tiles are clipped by
+	 * the rendered regions of the job
+	 *
+	 * @param job      the rendering job
+	 * @param tileSize the side of a tile (the tiles at the right and bottom
+	 *                 borders may be smaller)
+	 */
+	TileScheduler(RenderJob job, int tileSize) {
+		this.job = job;
+		int nX = job.getNx();
+		int nY = job.getNy();
+		int tilesX = (nX + tileSize - 1) / tileSize;
+		int tilesY = (nY + tileSize - 1) / tileSize;
+		// the side of the Hilbert curve grid is the power of two that covers the tiles
+		int side = Integer.highestOneBit(Math.max(1, Math.max(tilesX, tilesY) - 1)) << 1;
+		List<Tile> list = new ArrayList<>(tilesX * tilesY);
+		for (int y = 0; y < tilesY; ++y)
+			for (int x = 0; x < tilesX; ++x) {
+				Tile tile = new Tile(x * tileSize, y * tileSize, Math.min(tileSize, nX - x * tileSize),
+						Math.min(tileSize, nY - y * tileSize));
+				// only the parts of the tile inside the rendered regions
+				for (Tile region : job.getRegions()) {
+					Tile part = tile.intersect(region);
+					if (part != null)
+						list.add(part);
+				}
+			}
+		list.sort(Comparator.comparingLong(t -> hilbertIndex(side, t.col() / tileSize, t.row() / tileSize)));
+		tiles = list;
+	}
+
+	/**
+	 * Constructs the scheduler of given tiles
+	 *
+	 * @param job   the rendering job
+	 * @param tiles the tiles of the image, in the rendering order
+	 */
+	private TileScheduler(RenderJob job, List<Tile> tiles) {
+		this.job = job;
+		this.tiles = tiles;
+	}
+
+	/**
+	 * Divides the rendered regions of a rendering job into their rows (tiles of a
+	 * single row)
+	 *
+	 * @param job the rendering job
+	 * @return the scheduler of the rows
+	 */
+	static TileScheduler rows(RenderJob job) {
+		List<Tile> rows = new ArrayList<>();
+		for (Tile region : job.getRegions())
+			for (int row = region.row(); row < region.row() + region.height(); ++row)
+				rows.add(new Tile(region.col(), row, region.width(), 1));
+		return new TileScheduler(job, rows);
+	}
+
+	/**
+	 * Returns the tiles of the image in the rendering order
+	 *
+	 * @return the tiles
+	 */
+	List<Tile> getTiles() {
+		return tiles;
+	}
+
+	/**
+	 * Renders all the tiles on a new pool of threads, and returns when all of them
+	 * are rendered
+	 *
+	 * @param parallelism the amount of threads
+	 * @param renderer    the rendering of a single tile
+	 */
+	void render(int parallelism, Consumer<Tile> renderer) {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			render(pool, renderer);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Renders all the tiles on a given pool (which may be shared with other
+	 * renderings), and returns when all of them are rendered
+	 *
+	 * @param pool     the pool of threads
+	 * @param renderer the rendering of a single tile
+	 */
+	void render(ForkJoinPool pool, Consumer<Tile> renderer) {
+		pool.invoke(new RenderTask(0, tiles.size(), renderer));
+	}
+
+	/**
+	 * Renders all the tiles by a parallel stream over their range, and returns
+	 * when all of them are rendered
+	 *
+	 * @param pool     the pool of threads that runs the stream (null - the common
+	 *                 pool)
+	 * @param renderer the rendering of a single tile
+	 */
+	void renderStream(ForkJoinPool pool, Consumer<Tile> renderer) {
+		Runnable stream = () -> IntStream.range(0, tiles.size()).parallel().forEach(index -> {
+			// the tiles that aren't started yet are skipped after a cancellation
+			if (job.isCancelled())
+				return;
+			Tile tile = tiles.get(index);
+			renderer.accept(tile);
+			job.pixelsDone((long) tile.width() * tile.height());
+		});
+		// a parallel stream runs on the pool of the task that starts it
+		if (pool == null)
+			stream.run();
+		else
+			pool.submit(stream).join();
+	}
+
+	/**
+	 * Renders every tile by its own virtual thread, and returns when all of them
+	 * are rendered. The virtual threads run on the shared carrier threads of the
+	 * JVM, and a fair semaphore lets only a bounded amount of tiles be rendered at
+	 * the same time (in the order of the tiles), so many renderings may run
+	 * together without creating platform threads for each one.
+	 *
+	 * @param concurrency the maximal amount of tiles that are rendered at the
+	 *                    same time
+	 * @param renderer    the rendering of a single tile
+	 */
+	void renderVirtual(int concurrency, Consumer<Tile> renderer) {
+		Semaphore permits = new Semaphore(concurrency, true);
+		List<Future<?>> futures = new ArrayList<>(tiles.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Tile tile : tiles)
+				futures.add(executor.submit(() -> {
+					permits.acquireUninterruptibly();
+					try {
+						// the tiles that aren't started yet are skipped after a cancellation
+						if (!job.isCancelled()) {
+							renderer.accept(tile);
+							job.pixelsDone((long) tile.width() * tile.height());
+						}
+					} finally {
+						permits.release();
+					}
+				}));
+		}
+		// the executor is closed after all the tiles are finished
+		for (Future<?> future : futures)
+			if (future.state() == Future.State.FAILED) {
+				Throwable failure = future.exceptionNow();
+				if (failure instanceof RuntimeException e)
+					throw e;
+				if (failure instanceof Error e)
+					throw e;
+				throw new IllegalStateException(failure);
+			}
+	}
+
+	/**
+	 * Calculates the index of a cell along the Hilbert curve that fills a square
+	 * grid
+	 *
+	 * @param side the side of the grid (a power of two)
+	 * @param x    the column of the cell
+	 * @param y    the row of the cell
+	 * @return the index of the cell along the curve
+	 */
+	static long hilbertIndex(int side, int x, int y) {
+		long index = 0;
+		for (int s = side / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+			// rotate the quadrant so the curve continues in it
+			if (ry == 0) {
+				if (rx == 1) {
+					x = side - 1 - x;
+					y = side - 1 - y;
+				}
+				int t = x;
+				x = y;
+				y = t;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * The rendering of a range of tiles - a big range is split into two tasks
+	 */
+	@SuppressWarnings("serial")
+	private class RenderTask extends RecursiveAction {
+		/** The first tile of the range (inclusive) */
+		private final int from;
+		/** The last tile of the range (exclusive) */
+		private final int to;
+		/** The rendering of a single tile */
+		private final Consumer<Tile> renderer;
+
+		/**
+		 * Constructs the task of a range of tiles
+		 *
+		 * @param from     the first tile of the range (inclusive)
+		 * @param to       the last tile of the range (exclusive)
+		 * @param renderer the rendering of a single tile
+		 */
+		private RenderTask(int from, int to, Consumer<Tile> renderer) {
+			this.from = from;
+			this.to = to;
+			this.renderer = renderer;
+		}
+
+		@Override
+		protected void compute() {
+			// the tiles that aren't started yet are skipped after a cancellation
+			if (to == from || job.isCancelled())
+				return;
+			if (to - from == 1) {
+				Tile tile = tiles.get(from);
+				renderer.accept(tile);
+				job.pixelsDone((long) tile.width() * tile.height());
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new RenderTask(from, middle, renderer), new RenderTask(middle, to, renderer));
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package renderer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import renderer.TileScheduler.Tile;
+
+/**
+ * A worker process of a distributed rendering - it listens on a TCP port, and
+ * renders the tiles that a {@link RenderCoordinator} sends to it.<br>
+ * Every connection is served by its own thread: the coordinator sends the
+ * serialized camera (with its ray tracer and scene) and the resolution, the
+ * worker prepares its own copy of the scene (the acceleration structures
+ * aren't serialized, they are built again by the worker), and then renders
+ * the tiles that it gets one by one and sends back their RGB values. A null
+ * tile ends the connection. A coordinator may open several connections to the
+ * same worker to render several tiles on it at the same time.<br>
+ * Only objects of the renderer packages (and the basic Java types) are
+ * deserialized, but the worker should listen only on a trusted network.
+ *
+ * @author Lior &amp; Asaf
+ */
+public class TileWorker implements Closeable {
+	/** The classes that the worker deserializes */
+	static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+			.createFilter("primitives.*;geometries.*;lighting.*;scene.*;renderer.*;java.lang.*;java.util.*;!*");
+
+	/** The listening socket of the worker */
+	private final ServerSocket server;
+	/** logger for reporting failed connections */
+	private final Logger logger = Logger.getLogger("TileWorker");
+
+	/**
+	 * Constructs a worker that listens on a port (it doesn't accept connections
+	 * before {@link #start()} or {@link #serve()})
+	 *
+	 * @param port the port (0 - any free port, see {@link #getPort()})
+	 * @throws IOException if the port can't be opened
+	 */
+	public TileWorker(int port) throws IOException {
+		server = new ServerSocket(port);
+	}
+
+	/**
+	 * Gets the port that the worker listens on
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Serves the connections of the worker in a background (daemon) thread
+	 *
+	 * @return the worker itself
+	 */
+	public TileWorker start() {
+		Thread.ofPlatform().name("tile worker").daemon().start(this::serve);
+		return this;
+	}
+
+	/**
+	 * Serves the connections of the worker in the current thread, until the worker
+	 * is closed
+	 */
+	public void serve() {
+		while (!server.isClosed()) {
+			try {
+				Socket socket = server.accept();
+				Thread.ofPlatform().name("tile connection").daemon().start(() -> handle(socket));
+			} catch (IOException e) {
+				if (!server.isClosed())
+					logger.log(Level.SEVERE, "Accept error", e);
+			}
+		}
+	}
+
+	/**
+	 * Renders the tiles of a single connection
+	 *
+	 * @param socket the connection to the coordinator
+	 */
+	private void handle(Socket socket) {
+		try (socket) {
+			ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+			in.setObjectInputFilter(FILTER);
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.flush();
+
+			Camera camera = (Camera) in.readObject();
+			int nX = in.readInt();
+			int nY = in.readInt();
+			camera.prepareScene(1);
+			for (Tile tile = (Tile) in.readObject(); tile != null; tile = (Tile) in.readObject()) {
+				out.writeObject(camera.renderTile(tile, nX, nY));
+				// the sent arrays aren't referenced again
+				out.reset();
+				out.flush();
+			}
+		} catch (EOFException e) {
+			// the coordinator closed the connection - after the image was finished
+			logger.log(Level.FINE, "Connection closed by the coordinator", e);
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			logger.log(Level.WARNING, "Connection error", e);
+		}
+	}
+
+	/**
+	 * Stops listening - the connections that are already open are finished
+	 */
+	@Override
+	public void close() throws IOException {
+		server.close();
+	}
+
+	/**
+	 * Runs a worker process
+	 *
+	 * @param args the port of the worker
+	 * @throws IOException if the port can't be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		try (TileWorker worker = new TileWorker(Integer.parseInt(args[0]))) {
+			worker.serve();
+		}
+	}
+}
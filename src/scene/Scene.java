@@ -1,5 +1,6 @@
 package scene;
 
+import java.io.Serializable;
 import java.util.List;
 
 import geometries.Geometries;
@@ -13,7 +14,9 @@ import primitives.Color;
  * 
  * @author Lior &amp; Asaf
  */
-public class Scene {
+public class Scene implements Serializable {
+	/** Serialization version */
+	private static final long serialVersionUID = 1L;
 
 	/** The scene name */
 	public String name;
@@ -27,7 +30,8 @@ public class Scene {
 	/** 3D model of the scene geometries forms. Initialized to empty model */
 	public Geometries geometries = new Geometries();
 
-	/** The lights in the scene */
+	/** The lights in the scene (a linked list, which is serializable) */
+	@SuppressWarnings("serial")
 	public List<LightSource> lights = new java.util.LinkedList<>();
 
 	/**
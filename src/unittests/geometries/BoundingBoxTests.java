@@ -0,0 +1,122 @@
+package unittests.geometries;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.BoundingBox;
+import geometries.Cylinder;
+import geometries.Geometries;
+import geometries.Plane;
+import geometries.Sphere;
+import geometries.Triangle;
+import geometries.Tube;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * Unit test for geometries.BoundingBox class
+ * 
+ * @author Lior &amp; Asaf
+ */
+class BoundingBoxTests {
+	/** A unit box between (0,0,0) and (1,1,1) */
+	private final BoundingBox box = new BoundingBox(0, 0, 0, 1, 1, 1);
+
+	/**
+	 * Test method for
+	 * {@link geometries.BoundingBox#intersects(primitives.Ray, double)}.
+	 */
+	@Test
+	void testIntersects() {
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Ray crosses the box
+		assertTrue(box.intersects(new Ray(new Point(-1, 0.5, 0.5), new Vector(1, 0.2, 0.1)), Double.POSITIVE_INFINITY),
+				"Ray crosses the box");
+
+		// TC02: Ray misses the box
+		assertFalse(box.intersects(new Ray(new Point(-1, 0.5, 0.5), new Vector(1, 2, 0)), Double.POSITIVE_INFINITY),
+				"Ray misses the box");
+
+		// TC03: Box is behind the ray
+		assertFalse(box.intersects(new Ray(new Point(2, 0.5, 0.5), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+				"Box is behind the ray");
+
+		// TC04: Ray starts inside the box
+		assertTrue(box.intersects(new Ray(new Point(0.5, 0.5, 0.5), new Vector(1, 1, 1)), Double.POSITIVE_INFINITY),
+				"Ray starts inside the box");
+
+		// TC05: Box is farther than the maximum distance
+		assertFalse(box.intersects(new Ray(new Point(-3, 0.5, 0.5), new Vector(1, 0, 0)), 2),
+				"Box is farther than the maximum distance");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Ray parallel to the axes, inside the slabs
+		assertTrue(box.intersects(new Ray(new Point(0.5, 0.5, -1), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY),
+				"Ray parallel to the axes inside the slabs");
+
+		// TC11: Ray parallel to the axes, outside a slab
+		assertFalse(box.intersects(new Ray(new Point(0.5, 2, -1), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY),
+				"Ray parallel to the axes outside a slab");
+
+		// TC12: Ray parallel to the axes on a face of the box
+		assertTrue(box.intersects(new Ray(new Point(0, 0.5, -1), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY),
+				"Ray on a face of the box");
+
+		// TC13: Flat box (of a polygon in a plane parallel to the axes)
+		BoundingBox flat = new BoundingBox(0, 0, 1, 1, 1, 1);
+		assertTrue(flat.intersects(new Ray(new Point(0.5, 0.5, 3), new Vector(0.1, 0, -1)), Double.POSITIVE_INFINITY),
+				"Ray crosses a flat box");
+
+		// TC14: Unbounded box is crossed by every ray
+		assertTrue(BoundingBox.UNBOUNDED.intersects(new Ray(new Point(5, 5, 5), new Vector(0, 1, 0)), 1),
+				"Unbounded box must be crossed");
+
+		// TC15: Empty box isn't crossed by any ray
+		assertFalse(BoundingBox.EMPTY.intersects(new Ray(new Point(5, 5, 5), new Vector(1, 1, 1)),
+				Double.POSITIVE_INFINITY), "Empty box mustn't be crossed");
+	}
+
+	/**
+	 * Test method for {@link geometries.Intersectable#getBoundingBox()}.
+	 */
+	@Test
+	void testGetBoundingBox() {
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Sphere
+		BoundingBox sphereBox = new Sphere(new Point(1, 2, 3), 2d).getBoundingBox();
+		assertEquals(-1, sphereBox.getMin(0), 1e-10, "Wrong sphere box");
+		assertEquals(5, sphereBox.getMax(2), 1e-10, "Wrong sphere box");
+
+		// TC02: Triangle
+		BoundingBox triangleBox = new Triangle(new Point(0, 0, 0), new Point(2, 0, 1), new Point(0, 3, 1))
+				.getBoundingBox();
+		assertEquals(2, triangleBox.getMax(0), 1e-10, "Wrong triangle box");
+		assertEquals(3, triangleBox.getMax(1), 1e-10, "Wrong triangle box");
+
+		// TC03: Cylinder along the z axis
+		BoundingBox cylinderBox = new Cylinder(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1, 5)
+				.getBoundingBox();
+		assertEquals(-1, cylinderBox.getMin(0), 1e-10, "Wrong cylinder box");
+		assertEquals(1, cylinderBox.getMax(1), 1e-10, "Wrong cylinder box");
+		assertEquals(5, cylinderBox.getMax(2), 1e-10, "Wrong cylinder box");
+
+		// TC04: Plane and tube are unbounded
+		assertFalse(new Plane(new Vector(0, 0, 1), Point.ZERO).getBoundingBox().isBounded(), "Plane is unbounded");
+		assertFalse(new Tube(new Ray(Point.ZERO, new Vector(0, 0, 1)), 1).getBoundingBox().isBounded(),
+				"Tube is unbounded");
+
+		// TC05: Collection of bodies is the union of their boxes
+		Geometries geometries = new Geometries(new Sphere(new Point(0, 0, 0), 1d));
+		geometries.add(new Sphere(new Point(5, 0, 0), 1d));
+		BoundingBox unionBox = geometries.getBoundingBox();
+		assertEquals(-1, unionBox.getMin(0), 1e-10, "Wrong collection box");
+		assertEquals(6, unionBox.getMax(0), 1e-10, "Wrong collection box");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Collection with an unbounded body is unbounded
+		geometries.add(new Plane(new Vector(0, 0, 1), Point.ZERO));
+		assertFalse(geometries.getBoundingBox().isBounded(), "Collection with a plane is unbounded");
+	}
+}
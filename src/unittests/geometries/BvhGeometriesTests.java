@@ -0,0 +1,232 @@
+package unittests.geometries;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.BvhGeometries;
+import geometries.BvhStatistics;
+import geometries.Geometries;
+import geometries.Intersectable;
+import geometries.LinearBvhBuilder;
+import geometries.MedianBvhBuilder;
+import geometries.Plane;
+import geometries.SahBvhBuilder;
+import geometries.Sphere;
+import geometries.Triangle;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * Unit test for geometries.BvhGeometries class
+ * 
+ * @author Lior &amp; Asaf
+ */
+class BvhGeometriesTests {
+
+	/**
+	 * Test method for
+	 * {@link geometries.BvhGeometries#findIntersections(primitives.Ray)}.
+	 */
+	@Test
+	void testFindIntersections() {
+		BvhGeometries geos = new BvhGeometries( //
+				new Plane(new Point(1, 0, 0), new Point(2, 0, 0), new Point(1.5, 0, 1)), //
+				new Triangle(new Point(0, 2, 0), new Point(2, 2, 0), new Point(1.5, 2, 2)), //
+				new Sphere(new Point(1, 0, 1), 1d));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: More then one object intersect (but not all the objects)
+		List<Point> result = geos.findIntersections(new Ray(new Point(1, 1.5, 1), new Vector(0, -1, 0)));
+		assertEquals(3, result.size(), "More then one object intersect (but not all the objects)");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Empty hierarchy
+		result = new BvhGeometries().findIntersections(new Ray(new Point(1, 1, 1), new Vector(0, -1, 0)));
+		assertNull(result, "The hierarchy is empty");
+
+		// TC11: No intersection with the objects
+		result = geos.findIntersections(new Ray(new Point(1, -1, 1), new Vector(0, -1, 0)));
+		assertNull(result, "The ray suppose not intersect the objects");
+
+		// TC12: One object intersect
+		result = geos.findIntersections(new Ray(new Point(1.5, 1.5, 0.5), new Vector(0, 1, 0)));
+		assertEquals(1, result.size(), "Suppose to be one intersection point (one object intersect)");
+
+		// TC13: All the objects intersect
+		result = geos.findIntersections(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)));
+		assertEquals(4, result.size(), "Suppose to be 4 intersection points");
+
+		// TC14: Body added after the hierarchy was built
+		geos.add(new Sphere(new Point(1, -3, 1), 1d));
+		result = geos.findIntersections(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)));
+		assertEquals(6, result.size(), "The hierarchy must be rebuilt after adding a body");
+	}
+
+	/**
+	 * Test method for
+	 * {@link geometries.BvhGeometries#findGeoIntersections(primitives.Ray, double)}
+	 * - compares the hierarchy to a flat collection of the same bodies.
+	 */
+	@Test
+	void testSameAsGeometries() {
+		Random random = new Random(1);
+		Intersectable[] bodies = RandomScene.bodies(random, 300);
+		Geometries flat = new Geometries(bodies);
+		BvhGeometries sah = new BvhGeometries(bodies);
+		BvhGeometries median = new BvhGeometries(bodies).setBuilder(new MedianBvhBuilder());
+		BvhGeometries parallel = new BvhGeometries(bodies)
+				.setBuilder(new SahBvhBuilder().setParallelThreshold(16)).build(4);
+		BvhGeometries linear = new BvhGeometries(bodies).setBuilder(new LinearBvhBuilder());
+		BvhGeometries parallelLinear = new BvhGeometries(bodies)
+				.setBuilder(new LinearBvhBuilder().setBitsPerAxis(10).setParallelThreshold(16)).build(4);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Random rays through the scene return the same amount of intersections
+		// (for each hierarchy builder, and for a hierarchy that was built in parallel)
+		for (int i = 0; i < 500; ++i) {
+			Ray ray = new Ray(new Point(random.nextDouble(-60, 60), random.nextDouble(-60, 60), 100),
+					new Vector(random.nextDouble(-0.5, 0.5), random.nextDouble(-0.5, 0.5), -1));
+			double maxDistance = i % 2 == 0 ? Double.POSITIVE_INFINITY : random.nextDouble(50, 200);
+			RandomScene.assertSameCount(flat, sah, ray, maxDistance, "Wrong SAH intersections for ");
+			RandomScene.assertSameCount(flat, median, ray, maxDistance, "Wrong median intersections for ");
+			RandomScene.assertSameCount(flat, parallel, ray, maxDistance, "Wrong parallel intersections for ");
+			RandomScene.assertSameCount(flat, linear, ray, maxDistance, "Wrong linear intersections for ");
+			RandomScene.assertSameCount(flat, parallelLinear, ray, maxDistance,
+					"Wrong parallel linear intersections for ");
+		}
+
+		// TC02: The parallel build makes the same hierarchy as the sequential build
+		assertEquals(sah.getStatistics().withBuildTime(0), parallel.getStatistics().withBuildTime(0),
+				"Parallel build makes a different hierarchy");
+	}
+
+	/**
+	 * Test method for
+	 * {@link geometries.BvhGeometries#findClosestGeoIntersection(primitives.Ray)}.
+	 */
+	@Test
+	void testFindClosestGeoIntersection() {
+		Random random = new Random(2);
+		Intersectable[] bodies = RandomScene.bodies(random, 200);
+		Geometries flat = new Geometries(bodies);
+		BvhGeometries bvh = new BvhGeometries(bodies);
+		bvh.add(new Plane(new Vector(0, 0, 1), new Point(0, 0, -40)));
+		flat.add(new Plane(new Vector(0, 0, 1), new Point(0, 0, -40)));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Random rays from all directions find the same closest point
+		for (int i = 0; i < 500; ++i) {
+			Ray ray = new Ray(new Point(random.nextDouble(-60, 60), random.nextDouble(-60, 60), 100), new Vector(
+					random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextBoolean() ? -1 : 0.3));
+			RandomScene.assertSameClosest(flat, bvh, ray, "Wrong closest intersection for ray ");
+		}
+
+		// TC02: Random rays through transparent and opaque bodies find the same
+		// transmittance
+		for (int i = 0; i < 500; ++i) {
+			Ray ray = new Ray(new Point(random.nextDouble(-60, 60), random.nextDouble(-60, 60), 100), new Vector(
+					random.nextDouble(-1, 1), random.nextDouble(-1, 1), -1));
+			assertEquals(flat.findTransmittance(ray, 150, 0.001), bvh.findTransmittance(ray, 150, 0.001),
+					"Wrong transmittance for ray " + ray);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link geometries.BvhGeometries#replace(Intersectable, Intersectable)} and
+	 * {@link geometries.BvhGeometries#refit()}.
+	 */
+	@Test
+	void testRefit() {
+		Intersectable[] bodies = new Intersectable[64];
+		for (int i = 0; i < bodies.length; ++i)
+			bodies[i] = new Sphere(new Point(3 * i, 0, 0), 1d);
+		BvhGeometries bvh = new BvhGeometries(bodies).build();
+		int nodeCount = bvh.getStatistics().nodeCount();
+		Ray oldRay = new Ray(new Point(30, -0.8, 10), new Vector(0, 0, -1));
+		Ray newRay = new Ray(new Point(30, 2, 10), new Vector(0, 0, -1));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A body that moved a little - the tree is refitted, not rebuilt
+		Intersectable moved = new Sphere(new Point(30, 1.5, 0), 1d);
+		bvh.replace(bodies[10], moved);
+		bodies[10] = moved;
+		assertNull(bvh.findGeoIntersections(oldRay), "The body must not be found in its old place");
+		assertEquals(2, bvh.findGeoIntersections(newRay).size(), "The body must be found in its new place");
+		assertEquals(nodeCount, bvh.getStatistics().nodeCount(), "The tree must keep its structure");
+		assertTrue(bvh.getDegradation() < 1.5, "A small move must not degrade the tree much");
+
+		// TC02: Bodies that were shuffled - the refitted tree is too expensive and
+		// rebuilt
+		for (int i = 0; i < bodies.length; ++i) {
+			Intersectable shuffled = new Sphere(new Point(3 * (i * 37 % bodies.length), 5, 0), 1d);
+			bvh.replace(bodies[i], shuffled);
+			bodies[i] = shuffled;
+		}
+		bvh.refit();
+		assertEquals(1, bvh.getDegradation(), 0.00001, "The tree must be rebuilt");
+		assertEquals(2, bvh.findGeoIntersections(new Ray(new Point(6, 15, 0), new Vector(0, -1, 0))).size(),
+				"A shuffled body must be found");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Replacing a body that isn't in the collection
+		assertThrows(IllegalArgumentException.class, () -> bvh.replace(moved, bodies[0]),
+				"Replacing a missing body must fail");
+
+		// TC11: A body that becomes unbounded - the tree is rebuilt without it
+		bvh.replace(bodies[1], new Plane(new Vector(0, 0, 1), new Point(0, 0, -5)));
+		assertEquals(3, bvh.findGeoIntersections(new Ray(new Point(6, 5, 10), new Vector(0, 0, -1))).size(),
+				"The plane must be found");
+	}
+
+	/**
+	 * Test method for {@link geometries.BvhGeometries#getStatistics()}.
+	 */
+	@Test
+	void testGetStatistics() {
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A row of spheres with leaves of up to 2 bodies
+		Intersectable[] bodies = new Intersectable[64];
+		for (int i = 0; i < bodies.length; ++i)
+			bodies[i] = new Sphere(new Point(3 * i, 0, 0), 1d);
+		BvhStatistics statistics = new BvhGeometries(bodies) //
+				.setBuilder(new SahBvhBuilder().setMaxLeafSize(2)).getStatistics();
+		assertEquals(statistics.nodeCount(), 2 * statistics.leafCount() - 1, "The tree must be binary");
+		assertTrue(statistics.leafCount() >= 32, "Too many bodies in a leaf");
+		assertTrue(statistics.depth() <= 12, "The tree is not balanced enough");
+		assertTrue(statistics.expectedCost() < bodies.length, "The hierarchy is worse than a flat list");
+		statistics = new BvhGeometries(bodies) //
+				.setBuilder(new LinearBvhBuilder().setMaxLeafSize(2)).getStatistics();
+		assertEquals(statistics.nodeCount(), 2 * statistics.leafCount() - 1, "The linear tree must be binary");
+		assertTrue(statistics.depth() <= 12, "The linear tree is not balanced enough");
+
+		// TC02: Small bodies near a huge one - SAH is better than the median split
+		for (int i = 1; i < bodies.length; ++i)
+			bodies[i] = new Sphere(new Point(i % 4, i / 4 % 4, i / 16), 0.3);
+		bodies[0] = new Triangle(new Point(-1000, -1000, -5), new Point(1000, -1000, -5), new Point(0, 1000, -5));
+		double sahCost = new BvhGeometries(bodies).getStatistics().expectedCost();
+		double medianCost = new BvhGeometries(bodies).setBuilder(new MedianBvhBuilder()).getStatistics()
+				.expectedCost();
+		assertTrue(sahCost < medianCost, "SAH hierarchy must be cheaper than the median one");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Empty hierarchy
+		assertEquals(BvhStatistics.EMPTY, new BvhGeometries().getStatistics(), "Empty hierarchy statistics");
+
+		// TC11: Single body
+		statistics = new BvhGeometries(new Sphere(Point.ZERO, 1d)).getStatistics();
+		assertEquals(1, statistics.leafCount(), "Single body hierarchy must be a single leaf");
+		assertEquals(1, statistics.depth(), "Single body hierarchy must be a single leaf");
+
+		// TC12: Bodies with the same center (the same Morton code) are split anyway
+		for (int i = 0; i < bodies.length; ++i)
+			bodies[i] = new Sphere(Point.ZERO, i + 1d);
+		statistics = new BvhGeometries(bodies).setBuilder(new LinearBvhBuilder()).getStatistics();
+		assertEquals(16, statistics.leafCount(), "Same code bodies must be split into full leaves");
+	}
+}
@@ -10,6 +10,8 @@ import geometries.Geometries;
 import geometries.Plane;
 import geometries.Sphere;
 import geometries.Triangle;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -56,4 +58,64 @@ class GeometriesTests {
 
 	}
 
+	/**
+	 * Test method for
+	 * {@link geometries.Geometries#findClosestGeoIntersection(primitives.Ray, double)}.
+	 */
+	@Test
+	void testFindClosestGeoIntersection() {
+		Triangle triangle = new Triangle(new Point(0, 2, 0), new Point(2, 2, 0), new Point(1.5, 2, 2));
+		Sphere sphere = new Sphere(new Point(1, 0, 1), 1d);
+		Geometries geos = new Geometries( //
+				new Plane(new Point(1, 0, 0), new Point(2, 0, 0), new Point(1.5, 0, 1)), triangle, sphere);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Several objects intersect - the closest one is returned
+		var result = geos.findClosestGeoIntersection(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)));
+		assertEquals(triangle, result.geometry, "The triangle is the closest object");
+		assertEquals(new Point(1, 2, 1), result.point, "Wrong closest point");
+
+		// TC02: The closest object is too far, a farther one is not found as well
+		assertNull(geos.findClosestGeoIntersection(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)), 0.4),
+				"The closest object is too far");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Empty list
+		assertNull(new Geometries().findClosestGeoIntersection(new Ray(new Point(1, 1, 1), new Vector(0, -1, 0))),
+				"The List empty");
+
+		// TC11: Nested collection - the closest body inside it is returned
+		Geometries nested = new Geometries(new Geometries(sphere), new Geometries(triangle));
+		result = nested.findClosestGeoIntersection(new Ray(new Point(1, 1.5, 1), new Vector(0, -1, 0)));
+		assertEquals(sphere, result.geometry, "The sphere is the closest object");
+	}
+
+	/**
+	 * Test method for
+	 * {@link geometries.Geometries#findTransmittance(primitives.Ray, double, double)}.
+	 */
+	@Test
+	void testFindTransmittance() {
+		Sphere glass = (Sphere) new Sphere(new Point(0, 0, 5), 1d).setMaterial(new Material().setKt(0.5));
+		Sphere wall = new Sphere(new Point(0, 0, 10), 1d);
+		Geometries geos = new Geometries(glass, wall);
+		Ray ray = new Ray(Point.ZERO, new Vector(0, 0, 1));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A transparent blocker - its kT for each of its two intersections
+		assertEquals(new Double3(0.25), geos.findTransmittance(ray, 7, 0.001), "Wrong transmittance of the glass");
+
+		// TC02: An opaque blocker behind the transparent one
+		assertEquals(Double3.ZERO, geos.findTransmittance(ray, 20, 0.001), "The wall must block the ray");
+
+		// TC03: The transmittance falls below the minimum
+		assertEquals(Double3.ZERO, geos.findTransmittance(ray, 7, 0.3), "The glass must be considered as a block");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: No blockers
+		assertEquals(Double3.ONE, geos.findTransmittance(ray, 3, 0.001), "Nothing blocks the ray");
+
+		// TC11: Empty list
+		assertEquals(Double3.ONE, new Geometries().findTransmittance(ray, 20, 0.001), "The List empty");
+	}
 }
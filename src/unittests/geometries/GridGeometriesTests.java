@@ -0,0 +1,143 @@
+package unittests.geometries;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.Geometries;
+import geometries.GridGeometries;
+import geometries.Intersectable;
+import geometries.Plane;
+import geometries.Sphere;
+import geometries.Triangle;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * Unit test for geometries.GridGeometries class
+ * 
+ * @author Lior &amp; Asaf
+ */
+class GridGeometriesTests {
+
+	/**
+	 * Test method for
+	 * {@link geometries.GridGeometries#findIntersections(primitives.Ray)}.
+	 */
+	@Test
+	void testFindIntersections() {
+		GridGeometries geos = new GridGeometries( //
+				new Plane(new Point(1, 0, 0), new Point(2, 0, 0), new Point(1.5, 0, 1)), //
+				new Triangle(new Point(0, 2, 0), new Point(2, 2, 0), new Point(1.5, 2, 2)), //
+				new Sphere(new Point(1, 0, 1), 1d));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: More then one object intersect (but not all the objects)
+		List<Point> result = geos.findIntersections(new Ray(new Point(1, 1.5, 1), new Vector(0, -1, 0)));
+		assertEquals(3, result.size(), "More then one object intersect (but not all the objects)");
+
+		// TC02: A body that spans many cells is found once
+		Intersectable[] bodies = new Intersectable[27];
+		for (int i = 0; i < bodies.length - 1; ++i)
+			bodies[i] = new Sphere(new Point(i % 3 * 10, i / 3 % 3 * 10, i / 9 * 10), 1d);
+		bodies[bodies.length - 1] = new Sphere(new Point(10, 10, 10), 12d);
+		result = new GridGeometries(bodies).findIntersections(new Ray(new Point(10, 10, -50), new Vector(0, 0, 1)));
+		assertEquals(8, result.size(), "Wrong number of points through the big body");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Empty grid
+		result = new GridGeometries().findIntersections(new Ray(new Point(1, 1, 1), new Vector(0, -1, 0)));
+		assertNull(result, "The grid is empty");
+
+		// TC11: No intersection with the objects
+		result = geos.findIntersections(new Ray(new Point(1, -1, 1), new Vector(0, -1, 0)));
+		assertNull(result, "The ray suppose not intersect the objects");
+
+		// TC12: All the objects intersect
+		result = geos.findIntersections(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)));
+		assertEquals(4, result.size(), "Suppose to be 4 intersection points");
+
+		// TC13: Body added after the grid was built
+		geos.add(new Sphere(new Point(1, -3, 1), 1d));
+		result = geos.findIntersections(new Ray(new Point(1, 2.5, 1), new Vector(0, -1, 0)));
+		assertEquals(6, result.size(), "The grid must be rebuilt after adding a body");
+
+		// TC14: A flat terrain (a grid with a single cell along the height)
+		GridGeometries terrain = new GridGeometries();
+		for (int i = 0; i < 10; ++i)
+			for (int j = 0; j < 10; ++j)
+				terrain.add(new Triangle(new Point(i, j, 0), new Point(i + 1, j, 0), new Point(i, j + 1, 0)));
+		result = terrain.findIntersections(new Ray(new Point(7.2, 3.2, 5), new Vector(0, 0, -1)));
+		assertEquals(1, result.size(), "The ray must hit the terrain once");
+		result = terrain.findIntersections(new Ray(new Point(-5.5, 3.2, 1), new Vector(10, 0, -1)));
+		assertEquals(1, result.size(), "The sloped ray must hit the terrain once");
+	}
+
+	/**
+	 * Test method for
+	 * {@link geometries.GridGeometries#findClosestGeoIntersection(primitives.Ray)}
+	 * - compares the grid to a flat collection of the same bodies.
+	 */
+	@Test
+	void testFindClosestGeoIntersection() {
+		Random random = new Random(3);
+		Intersectable[] bodies = RandomScene.bodies(random, 300);
+		Geometries flat = new Geometries(bodies);
+		GridGeometries grid = new GridGeometries(bodies);
+		GridGeometries fine = new GridGeometries(bodies).setDensity(8);
+		flat.add(new Plane(new Vector(0, 0, 1), new Point(0, 0, -40)));
+		grid.add(new Plane(new Vector(0, 0, 1), new Point(0, 0, -40)));
+		fine.add(new Plane(new Vector(0, 0, 1), new Point(0, 0, -40)));
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Random rays from outside and inside the grid find the same closest
+		// point, and the same amount of points
+		for (int i = 0; i < 500; ++i) {
+			Point head = i % 2 == 0 ? new Point(random.nextDouble(-60, 60), random.nextDouble(-60, 60), 100)
+					: new Point(random.nextDouble(-30, 30), random.nextDouble(-30, 30), random.nextDouble(-30, 30));
+			Ray ray = new Ray(head, new Vector(random.nextDouble(-1, 1), random.nextDouble(-1, 1),
+					random.nextBoolean() ? -1 : 0.3));
+			RandomScene.assertSameClosest(flat, grid, ray, "Wrong closest intersection for ray ");
+			RandomScene.assertSameClosest(flat, fine, ray, "Wrong closest intersection in the fine grid for ray ");
+
+			double maxDistance = i % 3 == 0 ? Double.POSITIVE_INFINITY : random.nextDouble(10, 150);
+			RandomScene.assertSameCount(flat, grid, ray, maxDistance, "Wrong intersections for ray ");
+			assertEquals(flat.findTransmittance(ray, maxDistance, 0.001),
+					grid.findTransmittance(ray, maxDistance, 0.001), "Wrong transmittance for ray " + ray);
+		}
+
+		// TC02: Rays of many short-lived virtual threads at the same time
+		List<Future<?>> walks = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 200; ++i) {
+				Random threadRandom = new Random(i);
+				walks.add(executor.submit(() -> {
+					for (int j = 0; j < 20; ++j) {
+						Ray ray = new Ray(new Point(threadRandom.nextDouble(-60, 60), threadRandom.nextDouble(-60, 60),
+								100), new Vector(threadRandom.nextDouble(-1, 1), threadRandom.nextDouble(-1, 1), -1));
+						RandomScene.assertSameClosest(flat, grid, ray, "Wrong closest intersection in a thread for ");
+					}
+				}));
+			}
+		}
+		for (Future<?> walk : walks)
+			assertDoesNotThrow(() -> walk.get(), "Wrong walk of a virtual thread");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Rays along the axes
+		for (int i = 0; i < 100; ++i) {
+			Point head = new Point(random.nextDouble(-50, 50), random.nextDouble(-50, 50), random.nextDouble(-50, 50));
+			Ray ray = new Ray(head, i % 3 == 0 ? new Vector(1, 0, 0) : i % 3 == 1 ? new Vector(0, -1, 0)
+					: new Vector(0, 0, 1));
+			RandomScene.assertSameClosest(flat, grid, ray, "Wrong closest intersection for ray ");
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package unittests.geometries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import geometries.Geometry;
+import geometries.Intersectable;
+import geometries.Sphere;
+import geometries.Triangle;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * Random scene shared by the tests of the acceleration structures - each
+ * structure is compared to a flat collection of the same bodies
+ *
+ * @author Lior &amp; Asaf
+ */
+final class RandomScene {
+	/** A class with static methods only */
+	private RandomScene() {
+	}
+
+	/**
+	 * Creates random spheres and triangles inside the cube [-50, 50] (every third
+	 * body is transparent)
+	 *
+	 * @param random the random generator
+	 * @param count  the amount of bodies
+	 * @return the bodies
+	 */
+	static Intersectable[] bodies(Random random, int count) {
+		Intersectable[] bodies = new Intersectable[count];
+		for (int i = 0; i < bodies.length; ++i) {
+			Point p = new Point(random.nextDouble(-50, 50), random.nextDouble(-50, 50), random.nextDouble(-50, 50));
+			bodies[i] = i % 2 == 0 //
+					? new Sphere(p, random.nextDouble(0.5, 4)) //
+					: new Triangle(p, p.add(new Vector(random.nextDouble(1, 6), 0, 1)),
+							p.add(new Vector(0, random.nextDouble(1, 6), 1)));
+			if (i % 3 == 0)
+				((Geometry) bodies[i]).setMaterial(new Material().setKt(0.6));
+		}
+		return bodies;
+	}
+
+	/**
+	 * Checks that two collections of the same bodies find the same closest point
+	 *
+	 * @param expected the reference collection
+	 * @param actual   the tested collection
+	 * @param ray      the ray
+	 * @param message  the failure message (the ray is appended)
+	 */
+	static void assertSameClosest(Intersectable expected, Intersectable actual, Ray ray, String message) {
+		var expectedPoint = expected.findClosestGeoIntersection(ray);
+		var actualPoint = actual.findClosestGeoIntersection(ray);
+		assertEquals(expectedPoint == null ? null : expectedPoint.point, actualPoint == null ? null : actualPoint.point,
+				message + ray);
+	}
+
+	/**
+	 * Checks that two collections of the same bodies find the same amount of
+	 * points up to the given distance
+	 *
+	 * @param expected    the reference collection
+	 * @param actual      the tested collection
+	 * @param ray         the ray
+	 * @param maxDistance the maximum distance of the points
+	 * @param message     the failure message (the ray is appended)
+	 */
+	static void assertSameCount(Intersectable expected, Intersectable actual, Ray ray, double maxDistance,
+			String message) {
+		var expectedPoints = expected.findGeoIntersections(ray, maxDistance);
+		var actualPoints = actual.findGeoIntersections(ray, maxDistance);
+		assertEquals(expectedPoints == null ? 0 : expectedPoints.size(),
+				actualPoints == null ? 0 : actualPoints.size(), message + ray);
+	}
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Comparator;
 
 import geometries.Sphere;
+import geometries.Intersectable.GeoPoint;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -176,4 +177,73 @@ public class SphereTests {
 		assertNull(sphere.findGeoIntersections(rayFromInside, 40));
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * tests
+	 * {@link geometries.Sphere#findClosestGeoIntersection(primitives.Ray, double)}
+	 */
+	@Test
+	void testFindClosestGeoIntersection() {
+		Sphere sphere = new Sphere(new Point(50, 0, 0), 50d);
+		Ray rayFromInside = new Ray(new Point(10, 0, 0), new Vector(1, 0, 0));
+		Ray rayFromOutside = new Ray(new Point(-10, 0, 0), new Vector(1, 0, 0));
+
+		// ================= Equivalence Partitions Tests ===========================
+		// TC01: ray starts outside - the first point is the closest
+		assertEquals(new Point(0, 0, 0), sphere.findClosestGeoIntersection(rayFromOutside).point,
+				"Wrong closest point from outside");
+
+		// TC02: ray starts inside - the only point
+		assertEquals(new Point(100, 0, 0), sphere.findClosestGeoIntersection(rayFromInside).point,
+				"Wrong closest point from inside");
+
+		// TC03: ray starts after the sphere (0 points)
+		assertNull(sphere.findClosestGeoIntersection(new Ray(new Point(110, 0, 0), new Vector(1, 0, 0))),
+				"There shouldn't be any intersection");
+
+		// TC04: the closest point is too far (0 points)
+		assertNull(sphere.findClosestGeoIntersection(rayFromOutside, 5), "The point is too far");
+
+		// ================= BVA Tests ===========================
+		// TC10: the first intersections is exactly at the max distance (0 points)
+		assertNull(sphere.findClosestGeoIntersection(rayFromOutside, 10), "The point is exactly at the max distance");
+
+		// TC11: ray starts at the center
+		assertEquals(new Point(100, 0, 0),
+				sphere.findClosestGeoIntersection(new Ray(new Point(50, 0, 0), new Vector(1, 0, 0))).point,
+				"Wrong closest point from the center");
+
+		// TC12: ray starts at the center - the point is too far for both queries
+		Ray fromCenter = new Ray(new Point(50, 0, 0), new Vector(1, 0, 0));
+		assertNull(sphere.findClosestGeoIntersection(fromCenter, 50), "The point from the center is too far");
+		assertNull(sphere.findGeoIntersections(fromCenter, 50), "The points from the center are too far");
+		assertEquals(1, sphere.findGeoIntersections(fromCenter, 51).size(), "Wrong points from the center");
+	}
+
+	/**
+	 * tests the hit record of
+	 * {@link geometries.Sphere#findClosestGeoIntersection(primitives.Ray, double)}
+	 * - the distance and the normal of the intersection
+	 */
+	@Test
+	void testHitRecord() {
+		Sphere sphere = new Sphere(new Point(50, 0, 0), 50d);
+
+		// ================= Equivalence Partitions Tests ===========================
+		// TC01: ray starts outside - the distance and the outward normal
+		GeoPoint hit = sphere.findClosestGeoIntersection(new Ray(new Point(-10, 0, 0), v100));
+		assertEquals(10, hit.t, 0.000001, "Wrong distance of the intersection");
+		assertEquals(new Vector(-1, 0, 0), hit.normal, "Wrong normal of the intersection");
+		assertEquals(sphere.getNormal(hit.point), hit.getNormal(), "The normal differs from getNormal");
+
+		// TC02: every intersection of the list keeps its own distance
+		List<GeoPoint> hits = sphere.findGeoIntersections(new Ray(new Point(-10, 0, 0), v100));
+		assertEquals(List.of(10d, 110d), hits.stream().map(gp -> gp.t).toList(), "Wrong distances of the list");
+
+		// ================= BVA Tests ===========================
+		// TC10: ray starts at the center - the distance is the radius
+		hit = sphere.findClosestGeoIntersection(new Ray(new Point(50, 0, 0), v010));
+		assertEquals(50, hit.t, 0.000001, "Wrong distance from the center");
+		assertEquals(v010, hit.normal, "Wrong normal from the center");
+	}
+}
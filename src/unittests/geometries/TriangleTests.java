@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import geometries.Triangle;
+import geometries.Intersectable.GeoPoint;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -101,4 +102,65 @@ public class TriangleTests {
 		assertNull(triangle.findGeoIntersections(ray, 2));
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * tests the hit record of
+	 * {@link geometries.Triangle#findClosestGeoIntersection(primitives.Ray, double)}
+	 * - the distance, the normal and the barycentric coordinates
+	 */
+	@Test
+	void testHitRecord() {
+		Point p1 = new Point(0, 0, 0);
+		Point p2 = new Point(4, 0, 0);
+		Point p3 = new Point(0, 4, 0);
+		Triangle triangle = new Triangle(p1, p2, p3);
+
+		// ================= Equivalence Partitions Tests ===========================
+		// TC01: ray crosses the inside of the triangle
+		GeoPoint hit = triangle.findClosestGeoIntersection(new Ray(new Point(1, 2, 3), new Vector(0, 0, -1)));
+		assertEquals(3, hit.t, DELTA, "Wrong distance of the intersection");
+		assertEquals(triangle.getNormal(hit.point), hit.getNormal(), "The normal differs from getNormal");
+		assertEquals(0.25, hit.u, DELTA, "Wrong barycentric coordinate of the second vertex");
+		assertEquals(0.5, hit.v, DELTA, "Wrong barycentric coordinate of the third vertex");
+		// the barycentric coordinates interpolate the vertices to the point
+		double w = 1 - hit.u - hit.v;
+		assertEquals(hit.point, new Point(p1.getX() * w + p2.getX() * hit.u + p3.getX() * hit.v,
+				p1.getY() * w + p2.getY() * hit.u + p3.getY() * hit.v, 0), "Wrong interpolated point");
+
+		// TC02: an oblique ray - the coordinates don't depend on the direction
+		hit = triangle.findClosestGeoIntersection(new Ray(new Point(0, 0, 3), new Vector(1, 2, -3)));
+		assertEquals(0.25, hit.u, DELTA, "Wrong barycentric coordinate of an oblique ray");
+		assertEquals(0.5, hit.v, DELTA, "Wrong barycentric coordinate of an oblique ray");
+
+		// TC03: ray crosses the triangle from its back side
+		hit = triangle.findClosestGeoIntersection(new Ray(new Point(1, 2, -2), new Vector(0, 0, 1)));
+		assertEquals(2, hit.t, DELTA, "Wrong distance from the back side");
+		assertEquals(0.25, hit.u, DELTA, "Wrong barycentric coordinate from the back side");
+		assertEquals(0.5, hit.v, DELTA, "Wrong barycentric coordinate from the back side");
+	}
+
+	/**
+	 * tests
+	 * {@link geometries.Triangle#findClosestGeoIntersection(primitives.Ray, double)}
+	 * along the shared edge of two adjacent triangles
+	 */
+	@Test
+	void testSharedEdge() {
+		Point shared1 = new Point(-150, -150, -115);
+		Point shared2 = new Point(75, 75, -150);
+		Triangle triangle1 = new Triangle(shared1, new Point(150, -150, -135), shared2);
+		Triangle triangle2 = new Triangle(shared1, new Point(-70, 70, -140), shared2);
+		Point head = new Point(0, 0, 1000);
+
+		// =============== Boundary Values Tests ==================
+		// TC10: every ray that passes the shared edge by a tiny distance, on either
+		// side of it, hits one of the triangles - there is no seam between them
+		for (double offset : new double[] { 1e-11, -1e-11, 1e-13, -1e-13 })
+			for (int pixel = 0; pixel < 120; ++pixel) {
+				double coordinate = (pixel + 0.5) / 3;
+				Ray ray = new Ray(head, new Vector(coordinate + offset, coordinate - offset, -1000));
+				assertTrue(triangle1.findClosestGeoIntersection(ray) != null
+						|| triangle2.findClosestGeoIntersection(ray) != null, "A ray by the shared edge misses");
+			}
+	}
+}
@@ -16,6 +16,11 @@ import primitives.Vector;
  * @author Lior &amp; Asaf
  */
 class RayTests {
+	/**
+	 * Delta value for accuracy when comparing the numbers of type 'double' in
+	 * assertEquals
+	 */
+	private final double DELTA = 0.000001;
 
 	/**
 	 * Test method for {@link primitives.Ray#getPoint(double)}.
@@ -68,4 +73,50 @@ class RayTests {
 		assertEquals(p222, ray.findClosestPoint(points), errorMassage);
 	}
 
+	/**
+	 * Test method for {@link primitives.Ray#normalized(Point, Vector)}.
+	 */
+	@Test
+	void testNormalized() {
+		Point p1 = new Point(1, 2, 3);
+		Vector unit = new Vector(0, 0.8, 0.6);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A ray of a normalized direction equals the normalizing constructor
+		assertEquals(new Ray(p1, new Vector(0, 4, 3)), Ray.normalized(p1, unit), "normalized() wrong ray");
+
+		// TC02: The direction is kept as is
+		assertSame(unit, Ray.normalized(p1, unit).getDir(), "normalized() normalized the direction again");
+	}
+
+	/**
+	 * Test method for the cached components of {@link primitives.Ray}:
+	 * {@link primitives.Ray#getInverseX()} and {@link primitives.Ray#getOctant()}.
+	 */
+	@Test
+	void testCachedComponents() {
+		Point p1 = new Point(1, 2, 3);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: The origin and the reciprocals of a direction in a negative octant
+		Ray ray = new Ray(p1, new Vector(-2, 4, -4));
+		assertEquals(1, ray.getHeadX(), DELTA, "getHeadX() wrong coordinate");
+		assertEquals(2, ray.getHeadY(), DELTA, "getHeadY() wrong coordinate");
+		assertEquals(3, ray.getHeadZ(), DELTA, "getHeadZ() wrong coordinate");
+		assertEquals(-3, ray.getInverseX(), DELTA, "getInverseX() wrong reciprocal");
+		assertEquals(1.5, ray.getInverseY(), DELTA, "getInverseY() wrong reciprocal");
+		assertEquals(-1.5, ray.getInverseZ(), DELTA, "getInverseZ() wrong reciprocal");
+		assertEquals(5, ray.getOctant(), "getOctant() wrong octant");
+		assertTrue(ray.isNegative(0) && !ray.isNegative(1) && ray.isNegative(2), "isNegative() wrong sign");
+
+		// TC02: The origin of a ray moved along a normal
+		ray = new Ray(p1, new Vector(0, 0, 1), new Vector(0, 0, 1));
+		assertEquals(3 + Ray.DELTA, ray.getHeadZ(), DELTA, "getHeadZ() wrong moved coordinate");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: The reciprocal of a 0 component is infinite
+		ray = new Ray(p1, new Vector(0, 1, 0));
+		assertEquals(Double.POSITIVE_INFINITY, ray.getInverseX(), "getInverseX() of 0 isn't infinite");
+		assertEquals(0, ray.getOctant(), "getOctant() wrong octant of a 0 component");
+	}
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import primitives.Point;
 import primitives.Vector;
 
 /**
@@ -158,4 +159,34 @@ public class VectorTests {
 		// TC02: check the value of the normal vector
 		assertEquals(new Vector(0, 0.8, 0.6), normal, "ERROR: normalize() result is wrong");
 	}
+
+	/**
+	 * Test method for {@link primitives.Vector#trusted(double, double, double)}.
+	 */
+	@Test
+	public void testTrusted() {
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A trusted vector equals the checked one
+		assertEquals(new Vector(0, 0.8, 0.6), Vector.trusted(0, 0.8, 0.6), "ERROR: trusted() result is wrong");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: The zero vector isn't checked
+		assertDoesNotThrow(() -> Vector.trusted(0, 0, 0), "ERROR: trusted() checks the zero vector");
+	}
+
+	/**
+	 * Test method for {@link primitives.Vector#equals(Object)}.
+	 */
+	@Test
+	public void testEquals() {
+		Vector v1 = new Vector(1, 2, 3);
+		Point p1 = new Point(1, 2, 3);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A vector equals a vector of almost the same coordinates
+		assertEquals(v1, new Vector(1, 2, 3.0000000000001), "ERROR: equals() of close vectors is wrong");
+
+		// TC02: A vector doesn't equal a point of the same coordinates
+		assertNotEquals(v1, p1, "ERROR: a vector equals a point");
+	}
 }
@@ -1,9 +1,35 @@
 package unittests.renderer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
+import geometries.Sphere;
 import primitives.*;
 import renderer.*;
 import scene.Scene;
@@ -53,4 +79,536 @@ class CameraTest {
 
 	}
 
+	/**
+	 * Image writer that keeps the colors of the pixels and counts how many times
+	 * each pixel was written
+	 */
+	private static class PixelRecorder extends ImageWriter {
+		/** The RGB value of each pixel */
+		private final int[][] colors;
+		/** The amount of writes of each pixel */
+		private final int[][] writes;
+		/** The delay of every pixel writing in milliseconds */
+		private long delay = 0;
+		/** The failure that is thrown by the writing of a pixel (null - none) */
+		private RuntimeException failure = null;
+
+		/**
+		 * Constructs the recorder of an image
+		 *
+		 * @param nX amount of pixels by width
+		 * @param nY amount of pixels by height
+		 */
+		PixelRecorder(int nX, int nY) {
+			super("Test", nX, nY);
+			colors = new int[nY][nX];
+			writes = new int[nY][nX];
+		}
+
+		@Override
+		public void writePixel(int xIndex, int yIndex, Color color) {
+			if (failure != null)
+				throw failure;
+			if (delay > 0)
+				assertDoesNotThrow(() -> Thread.sleep(delay), "Interrupted pixel");
+			super.writePixel(xIndex, yIndex, color);
+			colors[yIndex][xIndex] = color.getColor().getRGB();
+			++writes[yIndex][xIndex];
+		}
+	}
+
+	/**
+	 * Builds a camera of a scene of a single sphere
+	 *
+	 * @param recorder the image writer of the camera
+	 * @param threads  the amount of threads
+	 * @param tileSize the side of the rendered tiles
+	 * @return the camera
+	 */
+	private Camera camera(PixelRecorder recorder, int threads, int tileSize) {
+		Scene scene = new Scene("Test");
+		scene.geometries.add(new Sphere(new Point(0, 0, -100), 40).setEmission(new Color(200, 100, 50)));
+		return cameraBuilder.setRayTracer(new SimpleRayTracer(scene)).setImageWriter(recorder).setVpSize(150, 100)
+				.setMultithreading(threads).setTileSize(tileSize).build();
+	}
+
+	/**
+	 * Renders a scene of a single sphere
+	 *
+	 * @param threads  the amount of threads
+	 * @param tileSize the side of the rendered tiles
+	 * @return the recorded pixels
+	 */
+	private PixelRecorder render(int threads, int tileSize) {
+		PixelRecorder recorder = new PixelRecorder(37, 23);
+		camera(recorder, threads, tileSize).renderImage();
+		return recorder;
+	}
+
+	/**
+	 * Test method for {@link renderer.Camera#renderImage()}.
+	 */
+	@Test
+	void testRenderImage() {
+		PixelRecorder sequential = render(0, 16);
+		int[] once = new int[37];
+		Arrays.fill(once, 1);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Tiles that don't divide the image - every pixel is rendered once
+		PixelRecorder tiled = render(3, 8);
+		for (int i = 0; i < 23; ++i) {
+			assertArrayEquals(once, tiled.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], tiled.colors[i], "Wrong color of a tiled pixel");
+		}
+
+		// TC02: Batches of pixels (tile size 0)
+		PixelRecorder pixels = render(2, 0);
+		for (int i = 0; i < 23; ++i) {
+			assertArrayEquals(once, pixels.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], pixels.colors[i], "Wrong color of a pixel");
+		}
+
+		// TC03: Tiles of virtual threads
+		cameraBuilder.setVirtualThreads(true);
+		PixelRecorder virtualTiles = render(3, 8);
+		// TC04: Batches of pixels of virtual threads
+		PixelRecorder virtualPixels = render(2, 0);
+		cameraBuilder.setVirtualThreads(false);
+		for (int i = 0; i < 23; ++i) {
+			assertArrayEquals(once, virtualTiles.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], virtualTiles.colors[i], "Wrong color of a virtual tile pixel");
+			assertArrayEquals(once, virtualPixels.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], virtualPixels.colors[i], "Wrong color of a virtual pixel");
+		}
+
+		// TC05: Parallel stream of tiles
+		PixelRecorder streamTiles = render(-1, 8);
+		// TC06: Parallel stream of rows
+		PixelRecorder streamRows = render(-1, 0);
+		for (int i = 0; i < 23; ++i) {
+			assertArrayEquals(once, streamTiles.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], streamTiles.colors[i], "Wrong color of a stream tile pixel");
+			assertArrayEquals(once, streamRows.writes[i], "A pixel wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], streamRows.colors[i], "Wrong color of a stream row pixel");
+		}
+
+		// =============== Boundary Values Tests ==================
+		// TC10: A single tile bigger than the image
+		PixelRecorder single = render(2, 64);
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(sequential.colors[i], single.colors[i], "Wrong color of a single tile pixel");
+
+		// TC11: A single pixel tiles
+		PixelRecorder tiny = render(2, 1);
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(once, tiny.writes[i], "A pixel wasn't rendered exactly once");
+
+		// TC12: Negative tile size
+		assertThrows(IllegalArgumentException.class, () -> cameraBuilder.setTileSize(-1), "Negative tile size");
+
+		// TC13: Virtual threads with a render pool
+		cameraBuilder.setVirtualThreads(true).setRenderPool(ForkJoinPool.commonPool());
+		assertThrows(IllegalArgumentException.class, () -> cameraBuilder.build(), "Virtual threads with a pool");
+		cameraBuilder.setVirtualThreads(false).setRenderPool(null);
+	}
+
+	/**
+	 * Test method for {@link renderer.Camera#renderImage(RenderJob)}.
+	 */
+	@Test
+	void testRenderJob() {
+		PixelRecorder sequential = render(0, 16);
+		int[] once = new int[37];
+		Arrays.fill(once, 1);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Two jobs rendered at the same time on a shared pool
+		ForkJoinPool pool = new ForkJoinPool(3);
+		cameraBuilder.setRenderPool(pool);
+		PixelRecorder first = new PixelRecorder(37, 23);
+		PixelRecorder second = new PixelRecorder(37, 23);
+		Camera firstCamera = camera(first, 2, 4);
+		Camera secondCamera = camera(second, 2, 8);
+		Thread other = new Thread(() -> secondCamera.renderImage());
+		other.start();
+		RenderJob job = firstCamera.createRenderJob();
+		firstCamera.renderImage(job);
+		assertDoesNotThrow(() -> other.join(), "Interrupted rendering");
+		pool.shutdown();
+		cameraBuilder.setRenderPool(null);
+		for (int i = 0; i < 23; ++i) {
+			assertArrayEquals(once, first.writes[i], "A pixel of the first job wasn't rendered exactly once");
+			assertArrayEquals(once, second.writes[i], "A pixel of the second job wasn't rendered exactly once");
+			assertArrayEquals(sequential.colors[i], first.colors[i], "Wrong color of the first job");
+			assertArrayEquals(sequential.colors[i], second.colors[i], "Wrong color of the second job");
+		}
+		assertTrue(job.isDone(), "The job isn't done");
+		assertEquals(1, job.getProgress(), 0, "Wrong progress of a done job");
+		assertEquals(firstCamera.getStatistics(), job.getStatistics(), "Wrong statistics of the job");
+
+		// TC02: A cancelled job renders nothing
+		for (int threads : new int[] { 0, 2 })
+			for (int tileSize : new int[] { 0, 8 }) {
+				PixelRecorder cancelled = new PixelRecorder(37, 23);
+				Camera camera = camera(cancelled, threads, tileSize);
+				RenderJob cancelledJob = camera.createRenderJob();
+				cancelledJob.cancel();
+				camera.renderImage(cancelledJob);
+				assertTrue(cancelledJob.isDone() && cancelledJob.isCancelled(), "The job isn't cancelled");
+				assertEquals(0, cancelledJob.getProgress(), 0, "Wrong progress of a cancelled job");
+				for (int i = 0; i < 23; ++i)
+					assertArrayEquals(new int[37], cancelled.writes[i], "A cancelled job rendered a pixel");
+			}
+
+		// =============== Boundary Values Tests ==================
+		// TC10: A job that was already rendered
+		assertThrows(IllegalStateException.class, () -> firstCamera.renderImage(job), "Job rendered twice");
+
+		// TC11: A job of another resolution
+		RenderJob otherJob = camera(new PixelRecorder(10, 10), 0, 0).createRenderJob();
+		assertThrows(IllegalArgumentException.class, () -> firstCamera.renderImage(otherJob), "Wrong job resolution");
+	}
+
+	/**
+	 * Test method for {@link renderer.Camera#renderImageAsync(RenderJob)}.
+	 */
+	@Test
+	void testRenderImageAsync() throws InterruptedException {
+		PixelRecorder sequential = render(0, 16);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: A rendering that is awaited until it is complete
+		PixelRecorder complete = new PixelRecorder(37, 23);
+		RenderJob job = camera(complete, 2, 8).renderImageAsync();
+		assertNotNull(job.await(), "No statistics of a complete rendering");
+		assertTrue(job.isDone() && job.isComplete() && !job.isCancelled(), "The job isn't complete");
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(sequential.colors[i], complete.colors[i], "Wrong color of an asynchronous pixel");
+
+		// TC02: A rendering that is stopped by its time limit leaves a partial image
+		PixelRecorder slow = new PixelRecorder(37, 23);
+		slow.delay = 2;
+		Camera slowCamera = camera(slow, 2, 8);
+		RenderJob limited = slowCamera.renderImageAsync(slowCamera.createRenderJob().setTimeLimit(100));
+		limited.await();
+		assertTrue(limited.isTimedOut() && limited.isCancelled(), "The time limit didn't stop the job");
+		assertFalse(limited.isComplete(), "The job of the time limit is complete");
+		assertTrue(limited.getProgress() > 0 && limited.getProgress() < 1, "Wrong progress of a partial image");
+
+		// TC03: The time limit stops a rendering in batches of pixels as well
+		PixelRecorder slowBatches = new PixelRecorder(37, 23);
+		slowBatches.delay = 2;
+		Camera batchCamera = camera(slowBatches, 2, 0);
+		RenderJob batches = batchCamera.renderImageAsync(batchCamera.createRenderJob().setTimeLimit(100));
+		batches.await();
+		assertTrue(batches.isTimedOut() && batches.isCancelled(), "The time limit didn't stop the batches");
+		assertTrue(batches.getProgress() > 0 && batches.getProgress() < 1, "Wrong progress of partial batches");
+
+		// TC04: A rendering that is cancelled while it is awaited
+		PixelRecorder cancelled = new PixelRecorder(37, 23);
+		cancelled.delay = 2;
+		RenderJob cancelledJob = camera(cancelled, 0, 0).renderImageAsync();
+		assertNull(cancelledJob.await(1, TimeUnit.MILLISECONDS), "The slow job is done too early");
+		cancelledJob.cancel();
+		assertNotNull(cancelledJob.await(10, TimeUnit.SECONDS), "The cancelled job isn't done");
+		assertTrue(cancelledJob.isCancelled() && !cancelledJob.isTimedOut(), "The job isn't cancelled");
+		assertFalse(cancelledJob.isComplete(), "The cancelled job is complete");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: A failed rendering
+		PixelRecorder failed = new PixelRecorder(37, 23);
+		failed.failure = new IllegalStateException("Broken image");
+		RenderJob failedJob = camera(failed, 2, 8).renderImageAsync();
+		assertThrows(IllegalStateException.class, () -> failedJob.await(), "The failure isn't thrown");
+		assertTrue(failedJob.isDone(), "The failed job isn't done");
+
+		// TC11: Negative time limit
+		assertThrows(IllegalArgumentException.class, () -> job.setTimeLimit(-1), "Negative time limit");
+	}
+
+	/**
+	 * Test method for
+	 * {@link renderer.Camera.Builder#setProgressive(java.util.function.ObjIntConsumer)}.
+	 */
+	@Test
+	void testRenderProgressive() {
+		PixelRecorder sequential = render(0, 16);
+		cameraBuilder.setAntiAliasingActive(true).setNumOfSamples(4);
+		PixelRecorder antiAliased = render(0, 16);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: 16 samples are cast in passes of 1 (the center), 2, 2, 4 and 8 samples
+		List<Integer> passes = new ArrayList<>();
+		List<int[][]> images = new ArrayList<>();
+		cameraBuilder.setProgressive((writer, pass) -> {
+			passes.add(pass);
+			images.add(Arrays.stream(((PixelRecorder) writer).colors).map(int[]::clone).toArray(int[][]::new));
+		});
+		PixelRecorder progressive = render(0, 16);
+		assertEquals(List.of(1, 2, 3, 4, 5), passes, "Wrong passes");
+		// TC02: The first pass is the image without anti-aliasing
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(sequential.colors[i], images.get(0)[i], "Wrong color of the first pass");
+		// TC03: The last pass is the anti-aliased image
+		for (int i = 0; i < 23; ++i)
+			for (int j = 0; j < 37; ++j)
+				assertSimilarColor(antiAliased.colors[i][j], progressive.colors[i][j]);
+
+		// TC04: Progressive rendering with threads
+		PixelRecorder threaded = render(2, 8);
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(progressive.colors[i], threaded.colors[i], "Wrong color of a threaded pass");
+
+		// =============== Boundary Values Tests ==================
+		// TC10: Without anti-aliasing there is a single pass
+		passes.clear();
+		cameraBuilder.setAntiAliasingActive(false);
+		render(0, 16);
+		assertEquals(List.of(1), passes, "Wrong passes without anti-aliasing");
+
+		// TC11: Progressive rendering with adaptive super sampling
+		cameraBuilder.setAdaptiveSuperSamplingActive(true);
+		assertThrows(IllegalArgumentException.class, () -> cameraBuilder.build(), "Progressive with ASS");
+		cameraBuilder.setAdaptiveSuperSamplingActive(false).setProgressive(null).setNumOfSamples(1);
+	}
+
+	/**
+	 * Test method for {@link renderer.Camera#renderImage(java.awt.Rectangle...)}.
+	 */
+	@Test
+	void testRenderRegions() {
+		PixelRecorder sequential = render(0, 16);
+		Rectangle first = new Rectangle(3, 2, 10, 5);
+		Rectangle second = new Rectangle(30, 15, 20, 20);
+
+		// ============ Equivalence Partitions Tests ==============
+		// TC01: Two regions (the second is clipped by the image) - by every threading mode
+		int[][] modes = { { 0, 16 }, { 2, 8 }, { 2, 0 }, { -1, 8 }, { -1, 0 } };
+		for (int[] mode : modes) {
+			PixelRecorder regions = new PixelRecorder(37, 23);
+			camera(regions, mode[0], mode[1]).renderImage(first, second);
+			for (int i = 0; i < 23; ++i)
+				for (int j = 0; j < 37; ++j) {
+					boolean inside = first.contains(j, i) || second.contains(j, i);
+					assertEquals(inside ? 1 : 0, regions.writes[i][j], "Wrong rendering of a pixel " + j + "," + i);
+					if (inside)
+						assertEquals(sequential.colors[i][j], regions.colors[i][j], "Wrong color of a region pixel");
+				}
+		}
+
+		// =============== Boundary Values Tests ==================
+		// TC10: A region outside the image
+		PixelRecorder outside = new PixelRecorder(37, 23);
+		Camera camera = camera(outside, 2, 8);
+		RenderJob job = camera.createRenderJob(new Rectangle(40, 0, 5, 5));
+		camera.renderImage(job);
+		assertTrue(job.isComplete(), "The job of no pixels isn't complete");
+		for (int i = 0; i < 23; ++i)
+			assertArrayEquals(new int[37], outside.writes[i], "A pixel outside the regions was rendered");
+	}
+
+	/**
+	 * Test method for {@link renderer.RenderCoordinator#render()}.
+	 */
+	@Test
+	void testRenderDistributed() throws IOException {
+		PixelRecorder sequential = render(0, 16);
+		try (TileWorker worker1 = new TileWorker(0).start(); TileWorker worker2 = new TileWorker(0).start();
+				ServerSocket dead = new ServerSocket(0); ServerSocket silent = new ServerSocket(0);
+				ServerSocket faulty = new ServerSocket(0)) {
+			InetAddress loopback = InetAddress.getLoopbackAddress();
+			InetSocketAddress address1 = new InetSocketAddress(loopback, worker1.getPort());
+			InetSocketAddress address2 = new InetSocketAddress(loopback, worker2.getPort());
+			InetSocketAddress deadAddress = new InetSocketAddress(loopback, dead.getLocalPort());
+			InetSocketAddress silentAddress = new InetSocketAddress(loopback, silent.getLocalPort());
+			InetSocketAddress faultyAddress = new InetSocketAddress(loopback, faulty.getLocalPort());
+			// the dead worker disconnects at once, and the silent one never answers
+			List<Socket> accepted = new CopyOnWriteArrayList<>();
+			Thread.ofVirtual().start(() -> assertDoesNotThrow(() -> dead.accept().close(), "Dead worker"));
+			Thread.ofVirtual().start(() -> assertDoesNotThrow(() -> accepted.add(silent.accept()), "Silent worker"));
+
+			// ============ Equivalence Partitions Tests ==============
+			// TC01: Two workers (one of them by two connections)
+			PixelRecorder distributed = new PixelRecorder(37, 23);
+			new RenderCoordinator(camera(distributed, 0, 16), List.of(address1, address2, address1)).setTileSize(8)
+					.render();
+			for (int i = 0; i < 23; ++i)
+				assertArrayEquals(sequential.colors[i], distributed.colors[i], "Wrong color of a distributed tile");
+
+			// TC02: The tiles of a dead worker and a slow worker are rendered by the others
+			PixelRecorder failures = new PixelRecorder(37, 23);
+			new RenderCoordinator(camera(failures, 0, 16), List.of(deadAddress, silentAddress, address2))
+					.setTileSize(8).setTileTimeout(500).render();
+			for (int i = 0; i < 23; ++i) {
+				assertArrayEquals(sequential.colors[i], failures.colors[i], "Wrong color of a reassigned tile");
+				for (int j = 0; j < 37; ++j)
+					assertEquals(1, failures.writes[i][j], "A pixel was written more than once");
+			}
+
+			// TC03: A tile that is still written when another connection writes the last
+			// tile is finished before the rendering ends
+			PixelRecorder stalled = new PixelRecorder(37, 23) {
+				@Override
+				public void writePixel(int xIndex, int yIndex, Color color) {
+					if (xIndex == 0 && yIndex == 0)
+						assertDoesNotThrow(() -> Thread.sleep(500), "Interrupted pixel");
+					super.writePixel(xIndex, yIndex, color);
+				}
+			};
+			new RenderCoordinator(camera(stalled, 0, 16), List.of(address1, address2)).setTileSize(8).render();
+			for (int i = 0; i < 23; ++i)
+				assertArrayEquals(sequential.colors[i], stalled.colors[i], "The rendering ended before a tile");
+
+			// TC04: The tile of a worker that sends a wrong amount of pixels is rendered
+			// by another worker (the other worker writes after the faulty one is dropped)
+			CountDownLatch faultyTile = new CountDownLatch(1);
+			Thread.ofVirtual().start(() -> assertDoesNotThrow(() -> {
+				try (Socket socket = faulty.accept()) {
+					ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+					ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+					in.readObject();
+					in.readInt();
+					in.readInt();
+					in.readObject();
+					out.writeObject(new int[1]);
+					out.flush();
+					// waits until the coordinator drops the connection
+					in.read();
+					faultyTile.countDown();
+				}
+			}, "Faulty worker"));
+			PixelRecorder wrongTile = new PixelRecorder(37, 23) {
+				@Override
+				public void writePixel(int xIndex, int yIndex, Color color) {
+					assertDoesNotThrow(() -> faultyTile.await(5, TimeUnit.SECONDS), "Interrupted pixel");
+					super.writePixel(xIndex, yIndex, color);
+				}
+			};
+			new RenderCoordinator(camera(wrongTile, 0, 16), List.of(faultyAddress, address2)).setTileSize(8).render();
+			for (int i = 0; i < 23; ++i) {
+				assertArrayEquals(sequential.colors[i], wrongTile.colors[i], "A tile of wrong size was kept");
+				for (int j = 0; j < 37; ++j)
+					assertEquals(1, wrongTile.writes[i][j], "A pixel was written more than once");
+			}
+
+			// =============== Boundary Values Tests ==================
+			// TC10: All the workers fail
+			TileWorker closed = new TileWorker(0);
+			InetSocketAddress closedAddress = new InetSocketAddress(loopback, closed.getPort());
+			closed.close();
+			Camera camera = camera(new PixelRecorder(37, 23), 0, 16);
+			RenderCoordinator unreachable = new RenderCoordinator(camera, List.of(deadAddress, closedAddress))
+					.setTileTimeout(500);
+			assertThrows(IllegalStateException.class, () -> unreachable.render(), "No worker rendered the image");
+
+			// TC11: No workers
+			assertThrows(IllegalArgumentException.class, () -> new RenderCoordinator(camera, List.of()),
+					"A coordinator without workers");
+			for (Socket socket : accepted)
+				socket.close();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link renderer.Camera.Builder#setCheckpoint(java.nio.file.Path, long)}.
+	 */
+	@Test
+	void testCheckpoint() throws IOException {
+		PixelRecorder sequential = render(0, 16);
+		Path file = Files.createTempFile("checkpoint", ".bin");
+		Files.delete(file);
+		try {
+			// ============ Equivalence Partitions Tests ==============
+			// TC01: A resumed finished rendering restores all the tiles and renders none
+			cameraBuilder.setCheckpoint(file, 0);
+			render(2, 8);
+			assertTrue(Files.exists(file), "The checkpoint wasn't saved");
+			cameraBuilder.setResume(true);
+			PixelRecorder restored = render(2, 8);
+			for (int i = 0; i < 23; ++i) {
+				assertArrayEquals(sequential.colors[i], restored.colors[i], "Wrong color of a restored tile");
+				assertArrayEquals(new int[] { 1 }, Arrays.stream(restored.writes[i]).distinct().toArray(),
+						"A restored tile was rendered again");
+			}
+
+			// TC02: A cancelled rendering is resumed - sequentially and by rows of threads
+			int[][] modes = { { 0, 16 }, { 2, 0 } };
+			for (int[] mode : modes) {
+				Files.delete(file);
+				cameraBuilder.setResume(false);
+				PixelRecorder cancelled = new PixelRecorder(37, 23);
+				Camera camera = camera(cancelled, mode[0], mode[1]);
+				RenderJob job = camera.createRenderJob();
+				cancelled.delay = 1;
+				camera.renderImage(job.setTimeLimit(100));
+				assertFalse(job.isComplete(), "The cancelled rendering is complete");
+				cameraBuilder.setResume(true);
+				PixelRecorder resumed = new PixelRecorder(37, 23);
+				RenderJob resumedJob = camera(resumed, mode[0], mode[1]).createRenderJob();
+				camera(resumed, mode[0], mode[1]).renderImage(resumedJob);
+				assertTrue(resumedJob.isComplete(), "The resumed rendering isn't complete");
+				for (int i = 0; i < 23; ++i)
+					assertArrayEquals(sequential.colors[i], resumed.colors[i], "Wrong color of a resumed rendering");
+			}
+
+			// TC03: A progressive rendering is resumed after its last finished pass
+			Files.delete(file);
+			cameraBuilder.setResume(false).setAntiAliasingActive(true).setNumOfSamples(4);
+			List<Integer> passes = new ArrayList<>();
+			cameraBuilder.setProgressive((writer, pass) -> passes.add(pass));
+			PixelRecorder progressive = render(2, 8);
+			RenderJob[] jobs = new RenderJob[1];
+			cameraBuilder.setProgressive((writer, pass) -> {
+				passes.add(pass);
+				if (pass == 3)
+					jobs[0].cancel();
+			});
+			Camera camera = camera(new PixelRecorder(37, 23), 2, 8);
+			jobs[0] = camera.createRenderJob();
+			passes.clear();
+			camera.renderImage(jobs[0]);
+			assertEquals(List.of(1, 2, 3), passes, "Wrong passes before the cancellation");
+			cameraBuilder.setResume(true).setProgressive((writer, pass) -> passes.add(pass));
+			passes.clear();
+			PixelRecorder resumed = render(2, 8);
+			assertEquals(List.of(4, 5), passes, "Wrong resumed passes");
+			for (int i = 0; i < 23; ++i)
+				assertArrayEquals(progressive.colors[i], resumed.colors[i], "Wrong color of a resumed pass");
+			cameraBuilder.setProgressive(null).setAntiAliasingActive(false).setNumOfSamples(1);
+
+			// =============== Boundary Values Tests ==================
+			// TC10: Resuming without a checkpoint file renders the whole image
+			Files.delete(file);
+			PixelRecorder fresh = render(2, 8);
+			for (int i = 0; i < 23; ++i)
+				assertArrayEquals(sequential.colors[i], fresh.colors[i], "Wrong color without a checkpoint file");
+
+			// TC11: A checkpoint of another resolution
+			PixelRecorder other = new PixelRecorder(20, 10);
+			assertThrows(IllegalArgumentException.class, () -> camera(other, 2, 8).renderImage(),
+					"Resumed a checkpoint of another resolution");
+
+			// TC12: Resuming without checkpoints
+			cameraBuilder.setCheckpoint(null, 0);
+			assertThrows(IllegalArgumentException.class, () -> cameraBuilder.build(), "Resume without a file");
+			assertThrows(IllegalArgumentException.class, () -> cameraBuilder.setCheckpoint(file, -1),
+					"Negative checkpoint interval");
+		} finally {
+			cameraBuilder.setResume(false).setCheckpoint(null, 0);
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Checks that two RGB values differ at most by a rounding in each channel
+	 *
+	 * @param expected the expected RGB value
+	 * @param actual   the actual RGB value
+	 */
+	private static void assertSimilarColor(int expected, int actual) {
+		for (int shift = 0; shift < 24; shift += 8)
+			assertEquals(expected >> shift & 0xff, actual >> shift & 0xff, 1, "Wrong color of the last pass");
+	}
 }
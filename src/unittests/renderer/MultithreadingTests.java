@@ -0,0 +1,104 @@
+package unittests.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.BvhGeometries;
+import geometries.Plane;
+import geometries.Sphere;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import primitives.*;
+import renderer.*;
+import scene.Scene;
+
+/**
+ * Benchmark of the multithreading modes of the camera - the same scene is
+ * rendered by each mode, and the rendering times are printed, so the faster
+ * mode may be chosen for the machine. Every mode must render the same image as
+ * a single thread
+ *
+ * @author Lior &amp; Asaf
+ */
+public class MultithreadingTests {
+	/** Scene for the benchmark - a field of spheres over a plane */
+	private final Scene scene = new Scene("Multithreading scene").setGeometries(new BvhGeometries())
+			.setAmbientLight(new AmbientLight(new Color(30, 30, 30), 0.1));
+	/** Camera builder for the benchmark */
+	private final Camera.Builder cameraBuilder = Camera.getBuilder().setLocation(new Point(0, -300, 150))
+			.setDirection(new Vector(0, 2, -1), new Vector(0, 1, 2)).setVpDistance(300).setVpSize(200, 200)
+			.setRayTracer(new SimpleRayTracer(scene));
+
+	/** The amount of threads of the thread per core modes */
+	private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+	/** The amount of renderings of each mode (the fastest one is printed) */
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Renders the scene by one of the modes several times and prints the timing
+	 * statistics of the fastest rendering
+	 *
+	 * @param mode     the name of the mode
+	 * @param threads  the amount of threads (see
+	 *                 {@link Camera.Builder#setMultithreading(int)})
+	 * @param tileSize the side of the tiles (0 - batches of pixels or rows)
+	 * @param virtual  whether the threads are virtual
+	 * @return the RGB values of the rendered image (column by column)
+	 */
+	private int[][] render(String mode, int threads, int tileSize, boolean virtual) {
+		ImageWriter imageWriter = new ImageWriter("multithreading", 400, 400);
+		Camera camera = cameraBuilder.setImageWriter(imageWriter)
+				.setMultithreading(threads).setTileSize(tileSize).setVirtualThreads(virtual).build();
+		RenderStatistics best = null;
+		for (int round = 0; round < ROUNDS; ++round) {
+			RenderStatistics statistics = camera.renderImage().getStatistics();
+			if (best == null || statistics.renderTime() < best.renderTime())
+				best = statistics;
+		}
+		System.out.printf("%-32s %s%n", mode, best);
+		int[][] rgb = new int[400][400];
+		for (int x = 0; x < 400; ++x)
+			for (int y = 0; y < 400; ++y)
+				rgb[x][y] = imageWriter.readPixel(x, y).getColor().getRGB();
+		return rgb;
+	}
+
+	/**
+	 * Checks that a mode renders the same image as a single thread
+	 *
+	 * @param expected the image of a single thread
+	 * @param actual   the image of the mode
+	 * @param mode     the name of the mode
+	 */
+	private void assertSameImage(int[][] expected, int[][] actual, String mode) {
+		for (int x = 0; x < 400; ++x)
+			assertArrayEquals(expected[x], actual[x], "Different image of " + mode);
+	}
+
+	/**
+	 * Renders the scene by every multithreading mode, and checks that all the
+	 * modes render the same image
+	 */
+	@Test
+	public void compareModes() {
+		Material material = new Material().setKd(0.6).setKs(0.3).setShininess(30);
+		for (int i = 0; i < 20; ++i)
+			for (int j = 0; j < 20; ++j)
+				scene.geometries.add(new Sphere(new Point(i * 15 - 150, j * 15, 6), 5)
+						.setEmission(new Color(20 + 10 * i, 20 + 10 * j, 100)).setMaterial(material));
+		scene.geometries.add(
+				new Plane(new Vector(0, 0, 1), Point.ZERO).setEmission(new Color(40, 40, 40)).setMaterial(material));
+		scene.lights.add(new PointLight(new Color(600, 600, 600), new Point(100, 100, 300)).setKl(0.0001));
+
+		// the first rendering builds the hierarchy and warms up the JIT
+		render("warm up", 0, 0, false);
+		int[][] single = render("single thread", 0, 0, false);
+		assertSameImage(single, render("thread per core - pixels", CORES, 0, false), "pixels");
+		assertSameImage(single, render("thread per core - tiles", CORES, 16, false), "tiles");
+		assertSameImage(single, render("parallel stream - rows", -1, 0, false), "stream rows");
+		assertSameImage(single, render("parallel stream - tiles", -1, 16, false), "stream tiles");
+		assertSameImage(single, render("virtual threads - tiles", CORES, 16, true), "virtual threads");
+	}
+}
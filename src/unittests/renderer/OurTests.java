@@ -16,8 +16,12 @@ import primitives.*;
  * @author Lior &amp; Asaf
  */
 class OurTests {
-	/** Scene for the tests */
-	private final Scene scene = new Scene("Test scene");
+	/**
+	 * Scene for the tests - a few small bodies near huge surface triangles, held
+	 * in a hierarchy built by the surface area heuristic
+	 */
+	private final Scene scene = new Scene("Test scene")
+			.setGeometries(new BvhGeometries().setBuilder(new SahBvhBuilder().setMaxLeafSize(2)));
 	/** Camera builder for the tests with triangles */
 	private final Camera.Builder cameraBuilder = Camera.getBuilder().setDirection(Vector.MINUS_Z, Vector.Y)
 			.setRayTracer(new SimpleRayTracer(scene));
@@ -4,6 +4,7 @@ import static java.awt.Color.YELLOW;
 
 import org.junit.jupiter.api.Test;
 
+import geometries.BvhGeometries;
 import geometries.Triangle;
 import lighting.PointLight;
 import primitives.*;
@@ -17,8 +18,8 @@ import scene.Scene;
  */
 public class TeapotTest {
 
-	/** Scene for the tests */
-	private final Scene scene = new Scene("Test scene");
+	/** Scene for the tests - the teapot mesh is held in a bounding volume hierarchy */
+	private final Scene scene = new Scene("Test scene").setGeometries(new BvhGeometries());
 	/** Camera builder for the tests with triangles */
 	private final Camera.Builder cameraBuilder = Camera.getBuilder().setDirection(new Vector(0, 0, 1), Vector.Y)
 			.setRayTracer(new SimpleRayTracer(scene));